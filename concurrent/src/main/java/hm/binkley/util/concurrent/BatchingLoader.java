@@ -0,0 +1,173 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * {@code BatchingLoader} coalesces single-key loads into bulk calls of a
+ * <var>loader</var> on an <var>executor</var>.  A batch is dispatched when it
+ * reaches <var>maxBatch</var> distinct keys, or <var>maxDelay</var> after its
+ * first key, whichever is first.  Loading a key already waiting in the
+ * current batch returns the same future.
+ * <p>
+ * If the loader fails, every future in its batch fails the same way; keys
+ * missing from the loader results fail with {@code NoSuchElementException}.
+ * Closing the loader dispatches any waiting batch and refuses further keys.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ * @see CompletableExecutors#batching(Executor, Function, int, Duration)
+ */
+public final class BatchingLoader<K, V>
+        implements AutoCloseable {
+    private final Executor threads;
+    private final Function<? super List<K>, ? extends Map<K, ? extends V>>
+            loader;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private Map<K, CompletableFuture<V>> batch; // Guarded by this
+    private Timers.Timer timer; // Guarded by this
+    private boolean closed; // Guarded by this
+
+    BatchingLoader(@Nonnull final Executor threads,
+            @Nonnull
+            final Function<? super List<K>, ? extends Map<K, ? extends V>>
+                    loader, final int maxBatch,
+            @Nonnull final Duration maxDelay) {
+        if (1 > maxBatch)
+            throw new IllegalArgumentException(
+                    format("Maximum batch not positive: %d", maxBatch));
+        if (maxDelay.isNegative())
+            throw new IllegalArgumentException(
+                    format("Maximum delay negative: %s", maxDelay));
+        this.threads = threads;
+        this.loader = loader;
+        this.maxBatch = maxBatch;
+        maxDelayNanos = maxDelay.toNanos();
+    }
+
+    /**
+     * Loads the value for the given <var>key</var> in the next batch.
+     *
+     * @param key the key, never missing
+     *
+     * @return the completable future of the value, never missing
+     *
+     * @throws IllegalStateException if this loader is closed
+     */
+    @Nonnull
+    public CompletableFuture<V> load(@Nonnull final K key) {
+        final Map<K, CompletableFuture<V>> full;
+        final CompletableFuture<V> future;
+        synchronized (this) {
+            if (closed)
+                throw new IllegalStateException("Loader closed");
+            if (null == batch) {
+                final Map<K, CompletableFuture<V>> started
+                        = batch = new LinkedHashMap<>();
+                // Dispatching may run or block on the calling thread
+                timer = Timers.handOff(() -> flush(started), maxDelayNanos);
+            }
+            future = batch.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (batch.size() < maxBatch)
+                return future;
+            full = batch;
+            batch = null;
+            timer.cancel();
+        }
+        dispatch(full);
+        return future;
+    }
+
+    /** Dispatches any waiting batch now, and refuses further keys. */
+    @Override
+    public void close() {
+        final Map<K, CompletableFuture<V>> last;
+        synchronized (this) {
+            closed = true;
+            last = batch;
+            batch = null;
+            if (null != timer)
+                timer.cancel();
+        }
+        if (null != last)
+            dispatch(last);
+    }
+
+    private void flush(final Map<K, CompletableFuture<V>> expired) {
+        synchronized (this) {
+            if (expired != batch) // Already dispatched when full or closed
+                return;
+            batch = null;
+        }
+        dispatch(expired);
+    }
+
+    private void dispatch(final Map<K, CompletableFuture<V>> batch) {
+        try {
+            threads.execute(() -> loadAll(batch));
+        } catch (final RejectedExecutionException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void loadAll(final Map<K, CompletableFuture<V>> batch) {
+        final Map<K, ? extends V> values;
+        try {
+            values = loader.apply(new ArrayList<>(batch.keySet()));
+        } catch (final RuntimeException | Error e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+            if (e instanceof Error)
+                throw e;
+            return;
+        }
+        batch.forEach((key, future) -> {
+            final V value = values.get(key);
+            if (null != value || values.containsKey(key))
+                future.complete(value);
+            else
+                future.completeExceptionally(new NoSuchElementException(
+                        format("No value for key: %s", key)));
+        });
+    }
+}
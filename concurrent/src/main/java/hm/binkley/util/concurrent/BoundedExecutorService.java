@@ -0,0 +1,191 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import hm.binkley.util.concurrent.CompletableExecutors.Backpressure;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static hm.binkley.util.concurrent.Prioritized.priorityOf;
+import static java.lang.String.format;
+import static java.lang.Thread.currentThread;
+
+/**
+ * {@code BoundedExecutorService} limits how many tasks may wait in the wrapped
+ * <var>threads</var> to <var>capacity</var>, applying {@link Backpressure}
+ * when full.  A task leaves the queue when it starts running.
+ * <p>
+ * Tasks which are also completable futures are failed rather than thrown for
+ * {@link Backpressure#FAIL}, so callers see an already-failed future.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+final class BoundedExecutorService
+        extends AbstractExecutorService {
+    private final ExecutorService threads;
+    private final int capacity;
+    private final Backpressure backpressure;
+    private final Semaphore slots;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    BoundedExecutorService(@Nonnull final ExecutorService threads,
+            final int capacity, @Nonnull final Backpressure backpressure) {
+        if (1 > capacity)
+            throw new IllegalArgumentException(
+                    format("Capacity not positive: %d", capacity));
+        this.threads = threads;
+        this.capacity = capacity;
+        this.backpressure = backpressure;
+        slots = new Semaphore(capacity);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int queued() {
+        return capacity - slots.availablePermits();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    long blocked() {
+        return blocked.sum();
+    }
+
+    @Override
+    public void execute(@Nonnull final Runnable command) {
+        if (!slots.tryAcquire())
+            switch (backpressure) {
+            case BLOCK:
+                blocked.increment();
+                try {
+                    slots.acquire();
+                } catch (final InterruptedException e) {
+                    currentThread().interrupt();
+                    fail(command, e);
+                    return;
+                }
+                break;
+            case FAIL:
+                rejected.increment();
+                fail(command, new RejectedExecutionException(
+                        format("Queue full: %d", capacity)));
+                return;
+            case CALLER_RUNS:
+                rejected.increment();
+                if (threads.isShutdown())
+                    throw new RejectedExecutionException("Shutdown");
+                command.run();
+                return;
+            }
+        try {
+            threads.execute(new Slotted(command));
+        } catch (final RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        threads.shutdown();
+    }
+
+    @Nonnull
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> unstarted = new ArrayList<>();
+        for (final Runnable task : threads.shutdownNow())
+            if (task instanceof Slotted) {
+                slots.release();
+                unstarted.add(((Slotted) task).command);
+            } else
+                unstarted.add(task);
+        return unstarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return threads.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return threads.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout,
+            @Nonnull final TimeUnit unit)
+            throws InterruptedException {
+        return threads.awaitTermination(timeout, unit);
+    }
+
+    private static void fail(final Runnable command, final Exception e) {
+        if (command instanceof CompletableFuture)
+            ((CompletableFuture<?>) command).completeExceptionally(e);
+        else if (e instanceof RejectedExecutionException)
+            throw (RejectedExecutionException) e;
+        else
+            throw new RejectedExecutionException(e);
+    }
+
+    /** Frees the queue slot as the task starts, keeping its priority. */
+    private final class Slotted
+            implements Runnable, Prioritized {
+        private final Runnable command;
+
+        private Slotted(final Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public int priority() {
+            return priorityOf(command);
+        }
+
+        @Override
+        public void run() {
+            slots.release();
+            command.run();
+        }
+    }
+}
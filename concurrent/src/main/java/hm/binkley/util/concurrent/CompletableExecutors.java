@@ -27,22 +27,45 @@
 
 package hm.binkley.util.concurrent;
 
-import hm.binkley.util.Mixin;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-import static hm.binkley.util.Mixin.newMixin;
+import static hm.binkley.util.concurrent.Prioritized.priorityOf;
+import static hm.binkley.util.concurrent.ThreadPerTaskExecutorService.threadPerTask;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
 import static java.util.concurrent.Executors.callable;
+import static java.util.concurrent.Executors.defaultThreadFactory;
+import static java.util.concurrent.ForkJoinPool.commonPool;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
 
 /**
  * {@code CompleteableExecutors} are executors returning {@link
@@ -53,15 +76,17 @@ import static java.util.concurrent.Executors.callable;
  * with {@link Future#get()} and friends.
  * <p>
  * Lastly, these executors expose {@code Closeable.close()} to shutdown the
- * thread pool in support of the <em>try-with-resources</em> idiom.
+ * thread pool in support of the <em>try-with-resources</em> idiom.  Closing
+ * waits for in-flight tasks to drain, by default without limit as does JDK 19
+ * {@code ExecutorService.close()}, or until a drain deadline.
  *
  * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
  * @todo Think through completable for scheduled
  */
 public final class CompletableExecutors {
     /**
-     * Mixes the given <var>threads</var> (execution service) with overrides to
-     * provide a completable exection service.
+     * Wraps the given <var>threads</var> (execution service) to provide a
+     * completable exection service.
      *
      * @param threads the execution service, never missin
      *
@@ -70,8 +95,192 @@ public final class CompletableExecutors {
     @Nonnull
     public static CompletableExecutorService completable(
             @Nonnull final ExecutorService threads) {
-        return newMixin(CompletableExecutorService.class,
-                new Overrides(threads), threads);
+        return new DelegatingCompletableExecutorService(threads);
+    }
+
+    /**
+     * Wraps the given <var>threads</var> (execution service) to provide a
+     * completable exection service which closes within
+     * <var>drainDeadline</var>.
+     *
+     * @param threads the execution service, never missing
+     * @param drainDeadline the time closing waits for tasks to drain, never
+     * missing
+     *
+     * @return the completable execution service, never missing
+     *
+     * @see CompletableExecutorService#close(Duration)
+     */
+    @Nonnull
+    public static CompletableExecutorService completable(
+            @Nonnull final ExecutorService threads,
+            @Nonnull final Duration drainDeadline) {
+        return new DelegatingCompletableExecutorService(threads,
+                drainDeadline.toNanos());
+    }
+
+    /**
+     * Creates a new completable execution service with a fixed number of
+     * worker threads and priority lanes.  Tasks implementing {@link
+     * Prioritized} run in their lane, higher lanes first; other tasks run in
+     * the lowest lane.  Idle workers steal from busy ones.
+     *
+     * @param parallelism the number of worker threads, positive
+     * @param lanes the number of priority lanes, positive
+     *
+     * @return the completable execution service, never missing
+     *
+     * @see Prioritized#prioritized(int, Callable)
+     */
+    @Nonnull
+    public static CompletableExecutorService prioritized(
+            final int parallelism, final int lanes) {
+        return prioritized(parallelism, lanes, defaultThreadFactory());
+    }
+
+    /**
+     * Creates a new completable execution service with a fixed number of
+     * worker threads from the given <var>threadFactory</var> and priority
+     * lanes.
+     *
+     * @param parallelism the number of worker threads, positive
+     * @param lanes the number of priority lanes, positive
+     * @param threadFactory the worker thread factory, never missing
+     *
+     * @return the completable execution service, never missing
+     *
+     * @see #prioritized(int, int)
+     */
+    @Nonnull
+    public static CompletableExecutorService prioritized(
+            final int parallelism, final int lanes,
+            @Nonnull final ThreadFactory threadFactory) {
+        return completable(new PrioritizedExecutorService(parallelism, lanes,
+                threadFactory));
+    }
+
+    /**
+     * Creates a new completable execution service running each task on its
+     * own virtual thread, with at most <var>maxConcurrency</var> tasks
+     * running at once.  On JDKs without virtual threads, tasks queue for a
+     * fixed pool of <var>maxConcurrency</var> daemon platform threads
+     * instead.
+     *
+     * @param maxConcurrency the maximum number of tasks running at once,
+     * positive
+     *
+     * @return the completable execution service, never missing
+     *
+     * @see CompletableExecutorService#scope()
+     */
+    @Nonnull
+    public static CompletableExecutorService virtual(
+            final int maxConcurrency) {
+        return completable(threadPerTask(maxConcurrency));
+    }
+
+    /**
+     * Wraps the given <var>threads</var> to provide a completable execution
+     * service holding at most <var>capacity</var> tasks waiting to run,
+     * applying <var>backpressure</var> to further submissions until tasks
+     * start.
+     *
+     * @param threads the execution service, never missing
+     * @param capacity the most tasks waiting to run, positive
+     * @param backpressure the policy when full, never missing
+     *
+     * @return the bounded completable execution service, never missing
+     */
+    @Nonnull
+    public static BoundedCompletableExecutorService bounded(
+            @Nonnull final ExecutorService threads, final int capacity,
+            @Nonnull final Backpressure backpressure) {
+        return new BoundedDelegatingCompletableExecutorService(
+                new BoundedExecutorService(threads, capacity, backpressure));
+    }
+
+    /**
+     * Wraps the given <var>threads</var> to record task metrics: queue wait
+     * and run time histograms, queued, active and completed counts, and
+     * failures by exception type.  The metrics are registered as a JMX MBean
+     * named by <var>name</var> until the service shuts down.
+     *
+     * @param threads the completable execution service, never missing
+     * @param name the name for the metrics, never missing
+     *
+     * @return the instrumented completable execution service, never missing
+     *
+     * @throws IllegalStateException if the metrics cannot be registered, for
+     * example with a duplicate <var>name</var>
+     */
+    @Nonnull
+    public static InstrumentedCompletableExecutorService instrumented(
+            @Nonnull final CompletableExecutorService threads,
+            @Nonnull final String name) {
+        return new InstrumentedDelegatingCompletableExecutorService(
+                new InstrumentedExecutorService(threads, name));
+    }
+
+    /**
+     * Creates a new loader coalescing single keys into bulk calls of the
+     * given <var>loader</var> on the common fork-join pool.
+     *
+     * @param loader the bulk loader, never missing
+     * @param maxBatch the most keys in one batch, positive
+     * @param maxDelay the longest a key waits for its batch, never missing
+     * @param <K> the key type
+     * @param <V> the value type
+     *
+     * @return the batching loader, never missing
+     *
+     * @see #batching(Executor, Function, int, Duration)
+     */
+    @Nonnull
+    public static <K, V> BatchingLoader<K, V> batching(
+            @Nonnull
+            final Function<? super List<K>, ? extends Map<K, ? extends V>>
+                    loader, final int maxBatch,
+            @Nonnull final Duration maxDelay) {
+        return batching(commonPool(), loader, maxBatch, maxDelay);
+    }
+
+    /**
+     * Creates a new loader coalescing single keys into bulk calls of the
+     * given <var>loader</var> on <var>threads</var>.
+     *
+     * @param threads the executor for bulk loads, never missing
+     * @param loader the bulk loader, never missing
+     * @param maxBatch the most keys in one batch, positive
+     * @param maxDelay the longest a key waits for its batch, never missing
+     * @param <K> the key type
+     * @param <V> the value type
+     *
+     * @return the batching loader, never missing
+     */
+    @Nonnull
+    public static <K, V> BatchingLoader<K, V> batching(
+            @Nonnull final Executor threads,
+            @Nonnull
+            final Function<? super List<K>, ? extends Map<K, ? extends V>>
+                    loader, final int maxBatch,
+            @Nonnull final Duration maxDelay) {
+        return new BatchingLoader<>(threads, loader, maxBatch, maxDelay);
+    }
+
+    /**
+     * What {@link #bounded(ExecutorService, int, Backpressure) bounded}
+     * executors do when full.
+     */
+    public enum Backpressure {
+        /** Blocks the submitting thread until there is room. */
+        BLOCK,
+        /**
+         * Returns a future already failed with {@code
+         * RejectedExecutionException}.
+         */
+        FAIL,
+        /** Runs the task on the submitting thread. */
+        CALLER_RUNS
     }
 
     /**
@@ -105,57 +314,792 @@ public final class CompletableExecutors {
         @Override
         CompletableFuture<?> submit(@Nonnull final Runnable task);
 
-        /** Invokes {@link #shutdown()}. */
+        /**
+         * Submits the given <var>task</var>, failing it with {@code
+         * TimeoutException} and interrupting it if still incomplete after
+         * <var>timeout</var>, time waiting in queue included.  Deadlines share
+         * one timer wheel rather than scheduling a task per call.
+         *
+         * @param task the task, never missing
+         * @param timeout the time to complete, never missing
+         * @param <T> the task result type
+         *
+         * @return a completable future representing pending completion of the
+         * task, never missing
+         */
+        @Nonnull
+        <T> CompletableFuture<T> submit(@Nonnull final Callable<T> task,
+                @Nonnull final Duration timeout);
+
+        /**
+         * Submits the given <var>task</var>, launching a backup attempt each
+         * <var>hedgeAfter</var> without a result, up to <var>maxAttempts</var>
+         * in all, to cut tail latency.  A failed attempt launches the next
+         * one at once.  Completes with the first successful result, cancelling
+         * (interrupting) the other attempts, or fails with the last failure if
+         * all attempts fail.  Cancelling the returned future cancels all
+         * attempts.
+         * <p>
+         * The task must be safe to run more than once, and concurrently.
+         *
+         * @param task the task, never missing
+         * @param hedgeAfter the wait before each backup attempt, never
+         * missing
+         * @param maxAttempts the most attempts, positive
+         * @param <T> the task result type
+         *
+         * @return a completable future of the first successful result, never
+         * missing
+         */
+        @Nonnull
+        <T> CompletableFuture<T> submitHedged(@Nonnull final Callable<T> task,
+                @Nonnull final Duration hedgeAfter, final int maxAttempts);
+
+        /**
+         * Submits all the given <var>tasks</var>, completing with their
+         * results in the same order when all complete.  If any task fails,
+         * the returned future fails with the same exception and the other
+         * tasks are cancelled.  Cancelling the returned future cancels all
+         * tasks.
+         *
+         * @param tasks the tasks, never missing
+         * @param <T> the task result type
+         *
+         * @return a completable future of the task results, never missing
+         */
+        @Nonnull
+        <T> CompletableFuture<List<T>> submitAll(
+                @Nonnull final Collection<? extends Callable<T>> tasks);
+
+        /**
+         * Submits all the given <var>tasks</var>, streaming their completable
+         * futures in order of completion: each stream element is already
+         * complete.  Terminal operations block until each next task completes.
+         * If interrupted while waiting, the next element is a future failing
+         * with {@code InterruptedException}.  Closing the stream cancels any
+         * incomplete tasks.
+         *
+         * @param tasks the tasks, never missing
+         * @param <T> the task result type
+         *
+         * @return the stream of completed futures, never missing
+         */
+        @Nonnull
+        <T> Stream<CompletableFuture<T>> submitAllByCompletion(
+                @Nonnull final Collection<? extends Callable<T>> tasks);
+
+        /**
+         * @return the completable futures representing the tasks, never
+         * missing
+         */
+        @Nonnull
+        @Override
+        <T> List<Future<T>> invokeAll(
+                @Nonnull final Collection<? extends Callable<T>> tasks)
+                throws InterruptedException;
+
+        /**
+         * @return the completable futures representing the tasks, never
+         * missing
+         */
+        @Nonnull
+        @Override
+        <T> List<Future<T>> invokeAll(
+                @Nonnull final Collection<? extends Callable<T>> tasks,
+                final long timeout, @Nonnull final TimeUnit unit)
+                throws InterruptedException;
+
+        /** Cancels the remaining tasks as soon as one completes normally. */
+        @Nonnull
+        @Override
+        <T> T invokeAny(@Nonnull final Collection<? extends Callable<T>> tasks)
+                throws InterruptedException, ExecutionException;
+
+        /** Cancels the remaining tasks as soon as one completes normally. */
+        @Nonnull
+        @Override
+        <T> T invokeAny(@Nonnull final Collection<? extends Callable<T>> tasks,
+                final long timeout, @Nonnull final TimeUnit unit)
+                throws InterruptedException, ExecutionException,
+                TimeoutException;
+
+        /**
+         * Opens a new scope for tasks which should finish together.
+         *
+         * @return the new scope, never missing
+         */
+        @Nonnull
+        default CompletableScope scope() {
+            return new CompletableScope(this);
+        }
+
+        /**
+         * Shuts down, and waits for in-flight tasks to drain up to the drain
+         * deadline of this service, without limit if none was given.
+         *
+         * @see #close(Duration)
+         * @see CompletableExecutors#completable(ExecutorService, Duration)
+         */
         @Override
         void close();
+
+        /**
+         * Shuts down, and waits up to <var>drainDeadline</var> for in-flight
+         * tasks to drain.  Past the deadline, or if interrupted while waiting,
+         * {@link #shutdownNow() shuts down now} interrupting running tasks,
+         * and cancels every task still incomplete so no caller waits on an
+         * abandoned future.  An interrupt is restored afterwards.  Only the
+         * first close does so; closing again does nothing.
+         *
+         * @param drainDeadline the time to wait for tasks to drain, never
+         * missing
+         *
+         * @see #drained()
+         * @see #abandoned()
+         */
+        void close(@Nonnull final Duration drainDeadline);
+
+        /**
+         * @return the count of tasks in flight when closing began which then
+         * finished within the drain deadline, not counting cancelled tasks, 0
+         * before closing
+         */
+        long drained();
+
+        /**
+         * @return the count of tasks cancelled for missing the drain
+         * deadline, 0 before closing
+         */
+        long abandoned();
+    }
+
+    /**
+     * A completable execution service exposing its bounded queue.
+     *
+     * @see #bounded(ExecutorService, int, Backpressure)
+     */
+    public interface BoundedCompletableExecutorService
+            extends CompletableExecutorService {
+        /** @return the most tasks waiting to run */
+        int capacity();
+
+        /** @return the current number of tasks waiting to run */
+        int queued();
+
+        /**
+         * @return the count of submissions failed or run on the caller
+         * because the queue was full
+         */
+        long rejected();
+
+        /**
+         * @return the count of submissions which blocked because the queue
+         * was full
+         */
+        long blocked();
+    }
+
+    /**
+     * A completable execution service recording task metrics.
+     *
+     * @see #instrumented(CompletableExecutorService, String)
+     */
+    public interface InstrumentedCompletableExecutorService
+            extends CompletableExecutorService {
+        /** @return the task metrics, never missing */
+        @Nonnull
+        ExecutorMetrics metrics();
     }
 
     /**
-     * Implements the overriden methods of {@link CompletableExecutorService}
-     * making it usable in a mixin.  {@link Mixin#newMixin(Class, Object...)
-     * Mixins} currently require public delegates, otherwise this class would
-     * be {@code private}.
+     * Implements {@link CompletableExecutorService} directly over the wrapped
+     * <var>threads</var>, forwarding lifecycle methods unchanged.
      */
-    public static final class Overrides {
+    private static class DelegatingCompletableExecutorService
+            implements CompletableExecutorService {
         private final ExecutorService threads;
+        private final long drainNanos;
+        /** Tasks submitted but not yet finished, for abandoning on close. */
+        private final Set<CompletableTask<?>> inFlight = ConcurrentHashMap.
+                newKeySet();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicLong drained = new AtomicLong();
+        private final AtomicLong abandoned = new AtomicLong();
+
+        private DelegatingCompletableExecutorService(
+                final ExecutorService threads) {
+            this(threads, Long.MAX_VALUE);
+        }
 
-        private Overrides(final ExecutorService threads) {
+        private DelegatingCompletableExecutorService(
+                final ExecutorService threads, final long drainNanos) {
             this.threads = threads;
+            this.drainNanos = drainNanos;
+        }
+
+        @Override
+        public void execute(@Nonnull final Runnable command) {
+            threads.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            threads.shutdown();
+        }
+
+        @Nonnull
+        @Override
+        public List<Runnable> shutdownNow() {
+            return threads.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return threads.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return threads.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout,
+                @Nonnull final TimeUnit unit)
+                throws InterruptedException {
+            return threads.awaitTermination(timeout, unit);
         }
 
         @Nonnull
+        @Override
         public <T> CompletableFuture<T> submit(
                 @Nonnull final Callable<T> task) {
-            final CompletableFuture<T> cf = new UnwrappedCompletableFuture<>();
-            threads.submit(() -> {
-                try {
-                    cf.complete(task.call());
-                } catch (final CancellationException e) {
-                    cf.cancel(true);
-                } catch (final Exception e) {
-                    cf.completeExceptionally(e);
-                }
-            });
-            return cf;
+            return submit(task, priorityOf(task));
         }
 
         @Nonnull
+        @Override
         public <T> CompletableFuture<T> submit(@Nonnull final Runnable task,
                 @Nullable final T result) {
-            return submit(callable(task, result));
+            return submit(callable(task, result), priorityOf(task));
         }
 
         @Nonnull
+        @Override
         public CompletableFuture<?> submit(@Nonnull final Runnable task) {
-            return submit(callable(task));
+            return submit(callable(task), priorityOf(task));
         }
 
+        @Nonnull
+        @Override
+        public <T> CompletableFuture<T> submit(@Nonnull final Callable<T> task,
+                @Nonnull final Duration timeout) {
+            final CompletableTask<T> cf = new CompletableTask<>(task,
+                    priorityOf(task), inFlight);
+            // Expiring runs dependent stages, so not on the wheel thread
+            final Timers.Timer timer = Timers.handOff(() -> cf.expire(timeout),
+                    timeout.toNanos());
+            cf.whenComplete((result, failure) -> timer.cancel());
+            try {
+                execute(cf);
+            } catch (final RuntimeException e) {
+                timer.cancel();
+                throw e;
+            }
+            return cf;
+        }
+
+        @Nonnull
+        @Override
+        public <T> CompletableFuture<T> submitHedged(
+                @Nonnull final Callable<T> task,
+                @Nonnull final Duration hedgeAfter, final int maxAttempts) {
+            if (1 > maxAttempts)
+                throw new IllegalArgumentException(
+                        format("Maximum attempts not positive: %d",
+                                maxAttempts));
+            return new Hedge<>(task, hedgeAfter.toNanos(), maxAttempts).
+                    start();
+        }
+
+        @Nonnull
+        @Override
+        public <T> CompletableFuture<List<T>> submitAll(
+                @Nonnull final Collection<? extends Callable<T>> tasks) {
+            final CompletableFuture<List<T>> all
+                    = new UnwrappedCompletableFuture<>();
+            final List<CompletableFuture<T>> futures = submitEach(tasks);
+            final AtomicInteger remaining = new AtomicInteger(futures.size());
+            for (final CompletableFuture<T> future : futures)
+                future.whenComplete((result, failure) -> {
+                    if (null != failure)
+                        all.completeExceptionally(failure);
+                    else if (0 == remaining.decrementAndGet())
+                        all.complete(futures.stream().
+                                map(CompletableFuture::join).
+                                collect(toList()));
+                });
+            if (futures.isEmpty())
+                all.complete(new ArrayList<>(0));
+            all.whenComplete((results, failure) -> {
+                if (null != failure)
+                    cancelAll(futures);
+            });
+            return all;
+        }
+
+        @Nonnull
+        @Override
+        public <T> Stream<CompletableFuture<T>> submitAllByCompletion(
+                @Nonnull final Collection<? extends Callable<T>> tasks) {
+            final BlockingQueue<CompletableFuture<T>> completed
+                    = new LinkedBlockingQueue<>();
+            final List<CompletableFuture<T>> futures = submitEach(tasks);
+            for (final CompletableFuture<T> future : futures)
+                future.whenComplete(
+                        (result, failure) -> completed.add(future));
+            return range(0, futures.size()).
+                    mapToObj(i -> take(completed)).
+                    onClose(() -> cancelAll(futures));
+        }
+
+        @Nonnull
+        @Override
+        public <T> List<Future<T>> invokeAll(
+                @Nonnull final Collection<? extends Callable<T>> tasks)
+                throws InterruptedException {
+            final List<CompletableFuture<T>> futures = submitEach(tasks);
+            try {
+                for (final CompletableFuture<T> future : futures)
+                    await(future, false, 0L);
+            } catch (final InterruptedException e) {
+                cancelAll(futures);
+                throw e;
+            } catch (final TimeoutException e) {
+                throw new IllegalStateException("BUG: Untimed wait", e);
+            }
+            return new ArrayList<>(futures);
+        }
+
+        @Nonnull
+        @Override
+        public <T> List<Future<T>> invokeAll(
+                @Nonnull final Collection<? extends Callable<T>> tasks,
+                final long timeout, @Nonnull final TimeUnit unit)
+                throws InterruptedException {
+            final long deadline = nanoTime() + unit.toNanos(timeout);
+            final List<CompletableFuture<T>> futures = submitEach(tasks);
+            try {
+                for (final CompletableFuture<T> future : futures)
+                    await(future, true, deadline - nanoTime());
+            } catch (final InterruptedException e) {
+                cancelAll(futures);
+                throw e;
+            } catch (final TimeoutException e) {
+                cancelAll(futures);
+            }
+            return new ArrayList<>(futures);
+        }
+
+        @Nonnull
+        @Override
+        public <T> T invokeAny(
+                @Nonnull final Collection<? extends Callable<T>> tasks)
+                throws InterruptedException, ExecutionException {
+            try {
+                return any(tasks, false, 0L);
+            } catch (final TimeoutException e) {
+                throw new IllegalStateException("BUG: Untimed wait", e);
+            }
+        }
+
+        @Nonnull
+        @Override
+        public <T> T invokeAny(
+                @Nonnull final Collection<? extends Callable<T>> tasks,
+                final long timeout, @Nonnull final TimeUnit unit)
+                throws InterruptedException, ExecutionException,
+                TimeoutException {
+            return any(tasks, true, unit.toNanos(timeout));
+        }
+
+        @Override
         public void close() {
+            close(drainNanos);
+        }
+
+        @Override
+        public void close(@Nonnull final Duration drainDeadline) {
+            close(drainDeadline.toNanos());
+        }
+
+        @Override
+        public long drained() {
+            return drained.get();
+        }
+
+        @Override
+        public long abandoned() {
+            return abandoned.get();
+        }
+
+        private void close(final long drainNanos) {
+            if (!closed.compareAndSet(false, true))
+                return; // Counts are those of the first close
             threads.shutdown();
+            final List<CompletableTask<?>> atClose = new ArrayList<>(
+                    inFlight);
+            boolean interrupted = false;
+            boolean terminated;
+            try {
+                terminated = threads.awaitTermination(drainNanos, NANOSECONDS);
+            } catch (final InterruptedException e) {
+                interrupted = true;
+                terminated = false;
+            }
+            if (!terminated) {
+                threads.shutdownNow();
+                for (final CompletableTask<?> task : inFlight)
+                    if (task.cancel(true))
+                        abandoned.incrementAndGet();
+            }
+            // Cancelled tasks, by the caller or just above, did not drain
+            drained.set(atClose.stream().
+                    filter(task -> task.isDone() && !task.isCancelled()).
+                    count());
+            if (interrupted)
+                currentThread().interrupt();
+        }
+
+        /**
+         * Launches attempts of a hedged task until one succeeds.  Only the
+         * first attempt launches on the caller; backups are {@link
+         * Timers#handOff(Runnable, long) handed off} from the timer wheel.  A
+         * rejected attempt counts as failed.  Each launch schedules the next backup before submitting,
+         * and submits without holding the hedge monitor, so an attempt which
+         * runs on the submitting thread or blocks for capacity does not hold
+         * up later backups.
+         */
+        private final class Hedge<T> {
+            private final Callable<T> task;
+            private final long hedgeNanos;
+            private final int maxAttempts;
+            private final CompletableFuture<T> result
+                    = new UnwrappedCompletableFuture<>();
+            private final List<CompletableFuture<T>> attempts
+                    = new ArrayList<>(); // Guarded by this
+            private int launched; // Guarded by this
+            private int failed; // Guarded by this
+            private Timers.Timer timer; // Guarded by this
+
+            private Hedge(final Callable<T> task, final long hedgeNanos,
+                    final int maxAttempts) {
+                this.task = task;
+                this.hedgeNanos = hedgeNanos;
+                this.maxAttempts = maxAttempts;
+            }
+
+            private CompletableFuture<T> start() {
+                launch();
+                result.whenComplete((value, failure) -> stop());
+                return result;
+            }
+
+            private void hedge() {
+                Timers.handOff(this::launch);
+            }
+
+            private void launch() {
+                final boolean first;
+                synchronized (this) {
+                    if (result.isDone() || maxAttempts == launched)
+                        return;
+                    first = 0 == launched++;
+                    if (null != timer)
+                        timer.cancel();
+                    timer = maxAttempts > launched
+                            ? Timers.handOff(this::launch, hedgeNanos)
+                            : null;
+                }
+                final CompletableFuture<T> attempt;
+                try {
+                    attempt = submit(task);
+                } catch (final RuntimeException e) {
+                    if (!first) { // Earlier attempts may yet succeed
+                        completed(null, e);
+                        return;
+                    }
+                    synchronized (this) { // Caller sees the first rejection
+                        if (null != timer)
+                            timer.cancel();
+                    }
+                    throw e;
+                }
+                synchronized (this) {
+                    attempts.add(attempt);
+                }
+                if (result.isDone()) // Completed while submitting
+                    attempt.cancel(true);
+                attempt.whenComplete(this::completed);
+            }
+
+            private void completed(final T value, final Throwable failure) {
+                if (null == failure) {
+                    result.complete(value);
+                    return;
+                }
+                synchronized (this) {
+                    if (result.isDone())
+                        return;
+                    if (maxAttempts == ++failed) {
+                        result.completeExceptionally(failure);
+                        return;
+                    }
+                }
+                hedge();
+            }
+
+            private void stop() {
+                final List<CompletableFuture<T>> current;
+                synchronized (this) {
+                    if (null != timer)
+                        timer.cancel();
+                    current = new ArrayList<>(attempts);
+                }
+                cancelAll(current);
+            }
+        }
+
+        private <T> CompletableFuture<T> submit(final Callable<T> task,
+                final int priority) {
+            final CompletableTask<T> cf = new CompletableTask<>(task,
+                    priority, inFlight);
+            execute(cf);
+            return cf;
+        }
+
+        private void execute(final CompletableTask<?> task) {
+            inFlight.add(task);
+            try {
+                threads.execute(task);
+            } catch (final RuntimeException e) {
+                inFlight.remove(task);
+                throw e;
+            }
+            // Bounded executors fail rejected tasks rather than throw, and
+            // nothing then runs them to leave the in-flight set
+            if (task.isDone())
+                inFlight.remove(task);
+        }
+
+        private <T> List<CompletableFuture<T>> submitEach(
+                final Collection<? extends Callable<T>> tasks) {
+            final List<CompletableFuture<T>> futures = new ArrayList<>(
+                    tasks.size());
+            try {
+                for (final Callable<T> task : tasks)
+                    futures.add(submit(task));
+            } catch (final RuntimeException e) {
+                cancelAll(futures);
+                throw e;
+            }
+            return futures;
+        }
+
+        /**
+         * Returns the first successful result, cancelling the other tasks as
+         * soon as there is one.  Fails with the last failure if no task
+         * succeeds.
+         */
+        private <T> T any(final Collection<? extends Callable<T>> tasks,
+                final boolean timed, final long nanos)
+                throws InterruptedException, ExecutionException,
+                TimeoutException {
+            if (tasks.isEmpty())
+                throw new IllegalArgumentException("No tasks");
+            final CompletableFuture<T> first = new CompletableFuture<>();
+            final AtomicInteger remaining = new AtomicInteger(tasks.size());
+            final List<CompletableFuture<T>> futures = submitEach(tasks);
+            for (final CompletableFuture<T> future : futures)
+                future.whenComplete((result, failure) -> {
+                    if (null == failure)
+                        first.complete(result);
+                    else if (0 == remaining.decrementAndGet())
+                        first.completeExceptionally(failure);
+                });
+            first.whenComplete((result, failure) -> cancelAll(futures));
+            try {
+                return timed ? first.get(nanos, NANOSECONDS) : first.get();
+            } finally {
+                cancelAll(futures);
+            }
+        }
+
+        private static void await(final Future<?> future,
+                final boolean timed, final long nanos)
+                throws InterruptedException, TimeoutException {
+            try {
+                if (timed)
+                    future.get(nanos, NANOSECONDS);
+                else
+                    future.get();
+            } catch (final ExecutionException | CancellationException ignored) {
+                // Caller inspects the future
+            }
+        }
+
+        private static <T> CompletableFuture<T> take(
+                final BlockingQueue<CompletableFuture<T>> completed) {
+            try {
+                return completed.take();
+            } catch (final InterruptedException e) {
+                currentThread().interrupt();
+                final CompletableFuture<T> interrupted
+                        = new UnwrappedCompletableFuture<>();
+                interrupted.completeExceptionally(e);
+                return interrupted;
+            }
+        }
+
+        private static void cancelAll(
+                final List<? extends Future<?>> futures) {
+            for (final Future<?> future : futures)
+                future.cancel(true);
+        }
+    }
+
+    private static final class BoundedDelegatingCompletableExecutorService
+            extends DelegatingCompletableExecutorService
+            implements BoundedCompletableExecutorService {
+        private final BoundedExecutorService threads;
+
+        private BoundedDelegatingCompletableExecutorService(
+                final BoundedExecutorService threads) {
+            super(threads);
+            this.threads = threads;
+        }
+
+        @Override
+        public int capacity() {
+            return threads.capacity();
+        }
+
+        @Override
+        public int queued() {
+            return threads.queued();
+        }
+
+        @Override
+        public long rejected() {
+            return threads.rejected();
+        }
+
+        @Override
+        public long blocked() {
+            return threads.blocked();
+        }
+    }
+
+    private static final class InstrumentedDelegatingCompletableExecutorService
+            extends DelegatingCompletableExecutorService
+            implements InstrumentedCompletableExecutorService {
+        private final InstrumentedExecutorService threads;
+
+        private InstrumentedDelegatingCompletableExecutorService(
+                final InstrumentedExecutorService threads) {
+            super(threads);
+            this.threads = threads;
+        }
+
+        @Nonnull
+        @Override
+        public ExecutorMetrics metrics() {
+            return threads.metrics();
+        }
+    }
+
+    /**
+     * Both the task given to the wrapped executor and the future returned to
+     * the caller, avoiding a second, unused {@code FutureTask}.  Cancelling
+     * with interruption interrupts the thread running the task, if any.  The
+     * original task priority is kept for prioritized executors.
+     */
+    private static final class CompletableTask<T>
+            extends UnwrappedCompletableFuture<T>
+            implements Runnable, Prioritized {
+        private final Callable<T> task;
+        private final int priority;
+        private final Set<CompletableTask<?>> inFlight;
+        private Thread runner; // Guarded by this
+        private boolean interrupted; // Guarded by this
+
+        private CompletableTask(final Callable<T> task, final int priority,
+                final Set<CompletableTask<?>> inFlight) {
+            this.task = task;
+            this.priority = priority;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) { // Cancelled before running
+                inFlight.remove(this);
+                return;
+            }
+            synchronized (this) {
+                runner = currentThread();
+            }
+            try {
+                if (!isDone()) // Cancelled before seeing the runner
+                    complete(task.call());
+            } catch (final CancellationException e) {
+                cancel(false);
+            } catch (final Exception e) {
+                completeExceptionally(e);
+            } catch (final Error e) {
+                completeExceptionally(e);
+                throw e;
+            } finally {
+                final boolean interrupted;
+                synchronized (this) {
+                    runner = null;
+                    interrupted = this.interrupted;
+                }
+                inFlight.remove(this);
+                if (interrupted) // Do not leak our interrupt to the pool
+                    Thread.interrupted();
+            }
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            final boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && mayInterruptIfRunning)
+                interruptRunner();
+            return cancelled;
+        }
+
+        /** Fails with {@code TimeoutException}, interrupting if running. */
+        private void expire(final Duration timeout) {
+            if (completeExceptionally(new TimeoutException(
+                    format("Timed out after %s", timeout))))
+                interruptRunner();
+        }
+
+        private synchronized void interruptRunner() {
+            if (null == runner)
+                return;
+            interrupted = true;
+            runner.interrupt();
         }
     }
 
-    private static final class UnwrappedCompletableFuture<T>
+    private static class UnwrappedCompletableFuture<T>
             extends CompletableFuture<T> {
         @Override
         public T get()
@@ -0,0 +1,182 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import hm.binkley.util.concurrent.CompletableExecutors.CompletableExecutorService;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.Thread.currentThread;
+
+/**
+ * {@code CompletableScope} groups tasks so they finish together.  {@link
+ * #join()} waits for every task in the scope; the first task to fail cancels
+ * (interrupting) its siblings.  {@link #close()} cancels any tasks still
+ * running and waits for them to stop, so leaving the
+ * <em>try-with-resources</em> block early never leaks work: <pre>
+ * try (final CompletableScope scope = threads.scope()) {
+ *     final CompletableFuture&lt;Foo&gt; foo = scope.submit(this::foo);
+ *     final CompletableFuture&lt;Bar&gt; bar = scope.submit(this::bar);
+ *     scope.join();
+ *     return combine(foo.join(), bar.join());
+ * }</pre>
+ * Futures returned by the scope are those of the executor, and keep its
+ * {@code InterruptedException} unwrapping.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ * @see CompletableExecutorService#scope()
+ */
+public final class CompletableScope
+        implements AutoCloseable {
+    private final CompletableExecutorService threads;
+    private final List<CompletableFuture<?>> futures
+            = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<?>> recorded
+            = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean closed; // Changed while holding this
+    private int running; // Guarded by this
+
+    CompletableScope(@Nonnull final CompletableExecutorService threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Submits the given <var>task</var> within this scope.
+     *
+     * @param task the task, never missing
+     * @param <T> the task result type
+     *
+     * @return the completable future of the task, never missing
+     *
+     * @throws IllegalStateException if this scope is closed
+     */
+    @Nonnull
+    public <T> CompletableFuture<T> submit(@Nonnull final Callable<T> task) {
+        if (closed)
+            throw new IllegalStateException("Scope closed");
+        final CompletableFuture<T> future = threads.submit(() -> {
+            started();
+            try {
+                return task.call();
+            } finally {
+                stopped();
+            }
+        });
+        futures.add(future);
+        // Join waits on this stage, not the future, else it may see the
+        // future complete before the failure is recorded
+        recorded.add(future.whenComplete((result, thrown) -> {
+            if (null != thrown && !(thrown instanceof CancellationException)
+                    && failure.compareAndSet(null, thrown))
+                cancel();
+        }));
+        return future;
+    }
+
+    /**
+     * Waits for all tasks in this scope to complete.  If any task failed,
+     * throws the first failure the same as {@link CompletableFuture#get()}:
+     * {@code InterruptedException} as is, other failures wrapped in {@code
+     * ExecutionException}.  If interrupted while waiting, cancels all tasks
+     * and throws that interrupt rather than any task failure.
+     *
+     * @throws InterruptedException if interrupted, or if the first failing
+     * task was interrupted
+     * @throws ExecutionException if any task failed
+     */
+    public void join()
+            throws InterruptedException, ExecutionException {
+        for (final CompletableFuture<?> future : recorded) {
+            // Wait apart from the future, which rethrows task interrupts as
+            // is, so only interrupting the caller throws here
+            final CompletableFuture<Void> done = new CompletableFuture<>();
+            future.whenComplete((result, thrown) -> done.complete(null));
+            try {
+                done.get();
+            } catch (final InterruptedException e) {
+                cancel();
+                throw e;
+            }
+        }
+        final Throwable first = failure.get();
+        if (first instanceof InterruptedException)
+            throw (InterruptedException) first;
+        if (null != first)
+            throw new ExecutionException(first);
+    }
+
+    /** Cancels, interrupting, all incomplete tasks in this scope. */
+    public void cancel() {
+        for (final CompletableFuture<?> future : futures)
+            future.cancel(true);
+    }
+
+    /**
+     * Closes this scope to new tasks, cancels any still incomplete, and waits
+     * for cancelled tasks already running to stop.  Call {@link #join()}
+     * first to wait for them to complete instead.  Interrupting the caller
+     * does not stop the wait, but is kept for after.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        cancel();
+        boolean interrupted = false;
+        synchronized (this) {
+            while (0 < running)
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+        }
+        if (interrupted)
+            currentThread().interrupt();
+    }
+
+    private synchronized void started() {
+        if (closed) // Cancelled on close before starting
+            throw new CancellationException("Scope closed");
+        ++running;
+    }
+
+    private synchronized void stopped() {
+        if (0 == --running)
+            notifyAll();
+    }
+}
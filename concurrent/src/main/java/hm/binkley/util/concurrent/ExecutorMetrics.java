@@ -0,0 +1,209 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import org.softee.management.annotation.Description;
+import org.softee.management.annotation.MBean;
+import org.softee.management.annotation.ManagedAttribute;
+
+import javax.annotation.Nonnull;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * {@code ExecutorMetrics} holds the measurements of an {@link
+ * CompletableExecutors#instrumented(CompletableExecutors.CompletableExecutorService,
+ * String) instrumented} execution service, and is registered as a pojo-mbean
+ * {@link MBean} under the service name.  Latencies are in microseconds over
+ * JMX and nanoseconds in the histograms.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+@MBean
+@Description("Completable executor task metrics")
+public final class ExecutorMetrics {
+    private final String name;
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final ConcurrentMap<Class<? extends Throwable>, LongAdder>
+            exceptions = new ConcurrentHashMap<>();
+
+    ExecutorMetrics(@Nonnull final String name) {
+        this.name = name;
+    }
+
+    /** @return the execution service name, never missing */
+    @Nonnull
+    @ManagedAttribute
+    @Description("Execution service name")
+    public String getName() {
+        return name;
+    }
+
+    /** @return the count of tasks waiting to start */
+    @ManagedAttribute
+    @Description("Tasks waiting to start")
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /** @return the count of tasks running */
+    @ManagedAttribute
+    @Description("Tasks running")
+    public int getActive() {
+        return active.get();
+    }
+
+    /** @return the count of tasks finished, normally or not */
+    @ManagedAttribute
+    @Description("Tasks finished, normally or not")
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /** @return the count of tasks finished exceptionally */
+    @ManagedAttribute
+    @Description("Tasks finished exceptionally")
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    @ManagedAttribute
+    @Description("Median queue wait, microseconds")
+    public long getQueueWaitP50Micros() {
+        return micros(queueWait.percentile(50));
+    }
+
+    @ManagedAttribute
+    @Description("99th percentile queue wait, microseconds")
+    public long getQueueWaitP99Micros() {
+        return micros(queueWait.percentile(99));
+    }
+
+    @ManagedAttribute
+    @Description("Longest queue wait, microseconds")
+    public long getQueueWaitMaxMicros() {
+        return micros(queueWait.max());
+    }
+
+    @ManagedAttribute
+    @Description("Median run time, microseconds")
+    public long getRunTimeP50Micros() {
+        return micros(runTime.percentile(50));
+    }
+
+    @ManagedAttribute
+    @Description("99th percentile run time, microseconds")
+    public long getRunTimeP99Micros() {
+        return micros(runTime.percentile(99));
+    }
+
+    @ManagedAttribute
+    @Description("Longest run time, microseconds")
+    public long getRunTimeMaxMicros() {
+        return micros(runTime.max());
+    }
+
+    /** @return the task failure counts as "<em>type</em>=<em>count</em>" */
+    @Nonnull
+    @ManagedAttribute
+    @Description("Task failure counts by exception type")
+    public String[] getExceptions() {
+        return getExceptionCounts().entrySet().stream().
+                map(e -> e.getKey().getName() + '=' + e.getValue()).
+                toArray(String[]::new);
+    }
+
+    /** @return the enqueue-to-start latencies, never missing */
+    @Nonnull
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    /** @return the start-to-complete latencies, never missing */
+    @Nonnull
+    public LatencyHistogram getRunTime() {
+        return runTime;
+    }
+
+    /** @return a snapshot of the task failure counts by type, never missing */
+    @Nonnull
+    public Map<Class<? extends Throwable>, Long> getExceptionCounts() {
+        final Map<Class<? extends Throwable>, Long> counts
+                = new LinkedHashMap<>();
+        exceptions.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    void queued() {
+        queued.incrementAndGet();
+    }
+
+    void unqueued() {
+        queued.decrementAndGet();
+    }
+
+    void started(final long waitNanos) {
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        queueWait.record(waitNanos);
+    }
+
+    void finished(final long runNanos, final Throwable failure) {
+        active.decrementAndGet();
+        runTime.record(runNanos);
+        completed.increment();
+        if (null == failure)
+            return;
+        failed.increment();
+        exceptions.computeIfAbsent(failure.getClass(), k -> new LongAdder()).
+                increment();
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorMetrics{name=" + name + ", queued=" + getQueued()
+                + ", active=" + getActive() + ", completed=" + getCompleted()
+                + ", failed=" + getFailed() + ", queueWait=" + queueWait
+                + ", runTime=" + runTime + '}';
+    }
+
+    private static long micros(final long nanos) {
+        return NANOSECONDS.toMicros(nanos);
+    }
+}
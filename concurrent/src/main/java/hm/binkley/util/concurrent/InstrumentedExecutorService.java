@@ -0,0 +1,198 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import org.softee.management.exception.ManagementException;
+import org.softee.management.helper.MBeanRegistration;
+
+import javax.annotation.Nonnull;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static hm.binkley.util.concurrent.Prioritized.priorityOf;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static javax.management.ObjectName.quote;
+
+/**
+ * {@code InstrumentedExecutorService} times each task through the wrapped
+ * <var>threads</var> into {@link ExecutorMetrics}, registered with JMX until
+ * shutdown.  Tasks which are also completable futures count as failed when
+ * they complete exceptionally, including by cancellation.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+final class InstrumentedExecutorService
+        extends AbstractExecutorService {
+    private final ExecutorService threads;
+    private final ExecutorMetrics metrics;
+    private final MBeanRegistration registration;
+    private final AtomicBoolean registered = new AtomicBoolean(true);
+
+    InstrumentedExecutorService(@Nonnull final ExecutorService threads,
+            @Nonnull final String name) {
+        this.threads = threads;
+        metrics = new ExecutorMetrics(name);
+        try {
+            registration = new MBeanRegistration(metrics, new ObjectName(
+                    format("%s:type=%s,name=%s",
+                            getClass().getPackage().getName(),
+                            ExecutorMetrics.class.getSimpleName(),
+                            quote(name))));
+            registration.register();
+        } catch (final MalformedObjectNameException | ManagementException e) {
+            throw new IllegalStateException(
+                    format("Cannot register metrics for %s: %s", name, e),
+                    e);
+        }
+    }
+
+    @Nonnull
+    ExecutorMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public void execute(@Nonnull final Runnable command) {
+        final Timed timed = new Timed(command);
+        metrics.queued();
+        try {
+            threads.execute(timed);
+        } catch (final RuntimeException e) {
+            metrics.unqueued();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        threads.shutdown();
+        unregister();
+    }
+
+    @Nonnull
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> unstarted = new ArrayList<>();
+        for (final Runnable task : threads.shutdownNow())
+            if (task instanceof Timed) {
+                metrics.unqueued();
+                unstarted.add(((Timed) task).command);
+            } else
+                unstarted.add(task);
+        unregister();
+        return unstarted;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return threads.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return threads.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout,
+            @Nonnull final TimeUnit unit)
+            throws InterruptedException {
+        return threads.awaitTermination(timeout, unit);
+    }
+
+    private void unregister() {
+        if (!registered.compareAndSet(true, false))
+            return;
+        try {
+            registration.unregister();
+        } catch (final ManagementException e) {
+            throw new IllegalStateException(
+                    format("Cannot unregister metrics for %s: %s",
+                            metrics.getName(), e), e);
+        }
+    }
+
+    private static Throwable failureOf(final Runnable command) {
+        if (!(command instanceof CompletableFuture))
+            return null;
+        final CompletableFuture<?> future = (CompletableFuture<?>) command;
+        if (!future.isCompletedExceptionally())
+            return null;
+        try {
+            future.getNow(null);
+            return null;
+        } catch (final CompletionException e) {
+            return e.getCause();
+        } catch (final CancellationException e) {
+            return e;
+        }
+    }
+
+    /** Records queue wait and run time around the task, keeping priority. */
+    private final class Timed
+            implements Runnable, Prioritized {
+        private final Runnable command;
+        private final long enqueued = nanoTime();
+
+        private Timed(final Runnable command) {
+            this.command = command;
+        }
+
+        @Override
+        public int priority() {
+            return priorityOf(command);
+        }
+
+        @Override
+        public void run() {
+            final long started = nanoTime();
+            metrics.started(started - enqueued);
+            Throwable failure = null;
+            try {
+                command.run();
+            } catch (final RuntimeException | Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                if (null == failure)
+                    failure = failureOf(command);
+                metrics.finished(nanoTime() - started, failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.String.format;
+
+/**
+ * {@code LatencyHistogram} records durations in log-linear buckets in the
+ * style of HDR histograms: each power of two splits into 16 buckets, so
+ * percentiles are within about 6% of the true value across the whole range
+ * of {@code long}.  Recording is lock-free and allocation-free; reading while
+ * recording gives a consistent-enough snapshot for monitoring.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /** Non-negative {@code long} values have an exponent of at most 62. */
+    private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records one duration.  Negative durations, as from a clock adjustment,
+     * record as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0L, nanos);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /** @return the count of recorded durations */
+    public long count() {
+        return count.sum();
+    }
+
+    /** @return the longest recorded duration in nanoseconds, 0 if none */
+    public long max() {
+        return max.get();
+    }
+
+    /** @return the mean recorded duration in nanoseconds, 0 if none */
+    public double mean() {
+        final long count = count();
+        return 0 == count ? 0.0d : (double) total.sum() / count;
+    }
+
+    /**
+     * Gets the duration at or below which the given <var>percentile</var> of
+     * recorded durations fall, as the upper bound of its bucket.
+     *
+     * @param percentile the percentile, from 0 to 100
+     *
+     * @return the duration in nanoseconds, 0 if none recorded
+     */
+    public long percentile(final double percentile) {
+        if (0 > percentile || 100 < percentile)
+            throw new IllegalArgumentException(
+                    format("Percentile not in 0-100: %f", percentile));
+        final long count = count();
+        if (0 == count)
+            return 0L;
+        final long rank = Math.max(1L, (long) ceil(count * percentile / 100));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; ++i) {
+            seen += counts.get(i);
+            if (seen >= rank)
+                return Math.min(upperBound(i), max());
+        }
+        return max();
+    }
+
+    @Override
+    public String toString() {
+        return format("%s{count=%d, p50=%d, p99=%d, max=%d}",
+                getClass().getSimpleName(), count(), percentile(50),
+                percentile(99), max());
+    }
+
+    static int bucket(final long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        final int exponent = 63 - numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift)
+                & (SUB_BUCKETS - 1));
+    }
+
+    static long upperBound(final int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long base = (long) (SUB_BUCKETS | bucket % SUB_BUCKETS)
+                << shift;
+        return base + ((1L << shift) - 1);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.Callable;
+
+/**
+ * {@code Prioritized} marks tasks for {@link CompletableExecutors#prioritized(int,
+ * int) prioritized executors}.  Greater priorities run first; tasks which are
+ * not prioritized have priority 0, the lowest lane.  Priorities beyond the
+ * executor lanes are clamped to the nearest lane.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public interface Prioritized {
+    /** @return the task priority, 0 being lowest */
+    int priority();
+
+    /**
+     * Gets the priority of the given <var>task</var>, 0 when it is not {@code
+     * Prioritized}.
+     *
+     * @param task the task, never missing
+     *
+     * @return the task priority
+     */
+    static int priorityOf(@Nonnull final Object task) {
+        return task instanceof Prioritized ? ((Prioritized) task).priority()
+                : 0;
+    }
+
+    /**
+     * Creates a new prioritized callable for the given <var>task</var>.
+     *
+     * @param priority the task priority
+     * @param task the task, never missing
+     * @param <T> the task result type
+     *
+     * @return the prioritized task, never missing
+     */
+    @Nonnull
+    static <T> Callable<T> prioritized(final int priority,
+            @Nonnull final Callable<T> task) {
+        return new PrioritizedCallable<>(priority, task);
+    }
+
+    /**
+     * Creates a new prioritized runnable for the given <var>task</var>.
+     *
+     * @param priority the task priority
+     * @param task the task, never missing
+     *
+     * @return the prioritized task, never missing
+     */
+    @Nonnull
+    static Runnable prioritized(final int priority,
+            @Nonnull final Runnable task) {
+        return new PrioritizedRunnable(priority, task);
+    }
+
+    final class PrioritizedCallable<T>
+            implements Callable<T>, Prioritized {
+        private final int priority;
+        private final Callable<T> task;
+
+        private PrioritizedCallable(final int priority,
+                final Callable<T> task) {
+            this.priority = priority;
+            this.task = task;
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public T call()
+                throws Exception {
+            return task.call();
+        }
+    }
+
+    final class PrioritizedRunnable
+            implements Runnable, Prioritized {
+        private final int priority;
+        private final Runnable task;
+
+        private PrioritizedRunnable(final int priority, final Runnable task) {
+            this.priority = priority;
+            this.task = task;
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static hm.binkley.util.concurrent.Prioritized.priorityOf;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.lang.Thread.currentThread;
+
+/**
+ * {@code PrioritizedExecutorService} runs tasks on a fixed set of workers, each
+ * with its own deque per priority lane.  Workers always prefer the highest
+ * non-empty lane, first their own deque then stealing from the others, so
+ * short prioritized tasks do not wait behind long low-priority ones in a
+ * single FIFO queue.
+ * <p>
+ * Tasks submitted from outside are spread round-robin and run first-in,
+ * first-out; tasks submitted by a worker go to the front of its own deque and
+ * are stolen from the back by idle workers.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ * @see Prioritized
+ */
+final class PrioritizedExecutorService
+        extends AbstractExecutorService {
+    private final Worker[] workers;
+    private final int lanes;
+    private final ThreadLocal<Worker> current = new ThreadLocal<>();
+    private final AtomicInteger next = new AtomicInteger();
+    /** Wake-up hints for idle workers, one per submission. */
+    private final Semaphore available = new Semaphore(0);
+    /** Orders submission against shutdown so no task is stranded. */
+    private final ReadWriteLock state = new ReentrantReadWriteLock();
+    private final CountDownLatch terminated;
+    private volatile boolean shutdown;
+    private volatile boolean stopped;
+
+    PrioritizedExecutorService(final int parallelism, final int lanes,
+            @Nonnull final ThreadFactory threadFactory) {
+        if (1 > parallelism)
+            throw new IllegalArgumentException(
+                    format("Parallelism not positive: %d", parallelism));
+        if (1 > lanes)
+            throw new IllegalArgumentException(
+                    format("Lanes not positive: %d", lanes));
+        this.lanes = lanes;
+        workers = new Worker[parallelism];
+        terminated = new CountDownLatch(parallelism);
+        for (int i = 0; i < parallelism; ++i)
+            workers[i] = new Worker(i);
+        for (final Worker worker : workers) {
+            worker.thread = threadFactory.newThread(worker);
+            worker.thread.start();
+        }
+    }
+
+    @Override
+    public void execute(@Nonnull final Runnable command) {
+        final int lane = max(0, min(lanes - 1, priorityOf(command)));
+        state.readLock().lock();
+        try {
+            if (shutdown)
+                throw new RejectedExecutionException("Shutdown");
+            final Worker local = current.get();
+            if (null != local)
+                local.deques[lane].addFirst(command);
+            else
+                workers[(next.getAndIncrement() & Integer.MAX_VALUE)
+                        % workers.length].deques[lane].addLast(command);
+        } finally {
+            state.readLock().unlock();
+        }
+        available.release();
+    }
+
+    @Override
+    public void shutdown() {
+        state.writeLock().lock();
+        try {
+            shutdown = true;
+        } finally {
+            state.writeLock().unlock();
+        }
+        available.release(workers.length);
+    }
+
+    @Nonnull
+    @Override
+    public List<Runnable> shutdownNow() {
+        stopped = true;
+        shutdown();
+        final List<Runnable> drained = new ArrayList<>();
+        for (final Worker worker : workers)
+            for (final Deque<Runnable> deque : worker.deques)
+                for (Runnable task; null != (task = deque.pollLast()); )
+                    drained.add(task);
+        for (final Worker worker : workers)
+            worker.thread.interrupt();
+        return drained;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return 0 == terminated.getCount();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout,
+            @Nonnull final TimeUnit unit)
+            throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    private final class Worker
+            implements Runnable {
+        private final int index;
+        private final Deque<Runnable>[] deques;
+        private Thread thread;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Worker(final int index) {
+            this.index = index;
+            deques = new Deque[lanes];
+            for (int lane = 0; lane < lanes; ++lane)
+                deques[lane] = new ConcurrentLinkedDeque<>();
+        }
+
+        @Override
+        public void run() {
+            current.set(this);
+            try {
+                while (!stopped) {
+                    final boolean draining = shutdown;
+                    final Runnable task = take();
+                    if (null != task)
+                        runTask(task);
+                    else if (draining)
+                        return;
+                    else
+                        available.acquireUninterruptibly();
+                }
+            } finally {
+                current.remove();
+                terminated.countDown();
+            }
+        }
+
+        /** Takes the next task, highest lane first, stealing if need be. */
+        private Runnable take() {
+            for (int lane = lanes - 1; 0 <= lane; --lane) {
+                final Runnable own = deques[lane].pollFirst();
+                if (null != own)
+                    return own;
+                final int start = ThreadLocalRandom.current().
+                        nextInt(workers.length);
+                for (int i = 0; i < workers.length; ++i) {
+                    final Worker victim = workers[(start + i)
+                            % workers.length];
+                    if (this == victim)
+                        continue;
+                    final Runnable stolen = victim.deques[lane].pollLast();
+                    if (null != stolen)
+                        return stolen;
+                }
+            }
+            return null;
+        }
+
+        private void runTask(final Runnable task) {
+            if (!stopped) // Do not carry an interrupt between tasks
+                Thread.interrupted();
+            try {
+                task.run();
+            } catch (final Throwable t) {
+                thread.getUncaughtExceptionHandler().uncaughtException(thread,
+                        t);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return format("%s[%d]", PrioritizedExecutorService.class.
+                    getSimpleName(), index);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+/**
+ * {@code ThreadPerTaskExecutorService} starts a new thread for each task,
+ * capping how many tasks run at once with a semaphore to protect downstream
+ * resources.  Threads past the cap wait for a permit before running their
+ * task, so callers never block in {@link #execute(Runnable)}.
+ * <p>
+ * {@link #threadPerTask(int)} uses virtual threads when the JDK provides
+ * them, so this cheaply waiting style scales there.  On older JDKs, where a
+ * waiting platform thread is costly, it falls back to a fixed pool of daemon
+ * threads queueing tasks behind the cap.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+final class ThreadPerTaskExecutorService
+        extends AbstractExecutorService {
+    private final Semaphore permits;
+    private final ThreadFactory threadFactory;
+    private final Map<Thread, Runnable> waiting = new ConcurrentHashMap<>();
+    private final Map<Thread, Runnable> running = new ConcurrentHashMap<>();
+    private int active; // Guarded by this
+    private boolean shutdown; // Guarded by this
+
+    ThreadPerTaskExecutorService(final int maxConcurrency,
+            @Nonnull final ThreadFactory threadFactory) {
+        if (1 > maxConcurrency)
+            throw new IllegalArgumentException(
+                    format("Maximum concurrency not positive: %d",
+                            maxConcurrency));
+        permits = new Semaphore(maxConcurrency);
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Creates an execution service running at most <var>maxConcurrency</var>
+     * tasks at once: a thread per task on virtual threads if the running JDK
+     * has them, otherwise a fixed pool of that many daemon platform threads.
+     *
+     * @param maxConcurrency the maximum number of tasks running at once,
+     * positive
+     *
+     * @return the execution service, never missing
+     */
+    @Nonnull
+    static ExecutorService threadPerTask(final int maxConcurrency) {
+        final ThreadFactory virtual = virtualThreadFactory();
+        if (null != virtual)
+            return new ThreadPerTaskExecutorService(maxConcurrency, virtual);
+        if (1 > maxConcurrency)
+            throw new IllegalArgumentException(
+                    format("Maximum concurrency not positive: %d",
+                            maxConcurrency));
+        return newFixedThreadPool(maxConcurrency, task -> {
+            final Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a thread factory for virtual threads if the running JDK has
+     * them.
+     *
+     * @return the thread factory, or {@code null} before JDK 21
+     */
+    @Nullable
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").
+                    invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").
+                    getMethod("factory").
+                    invoke(builder);
+        } catch (final ReflectiveOperationException ignored) {
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(@Nonnull final Runnable command) {
+        synchronized (this) {
+            if (shutdown)
+                throw new RejectedExecutionException("Shutdown");
+            ++active;
+        }
+        final Thread thread;
+        try {
+            thread = threadFactory.newThread(() -> run(command));
+            if (null == thread)
+                throw new RejectedExecutionException("No thread for task");
+        } catch (final RuntimeException | Error e) {
+            finished();
+            throw e;
+        }
+        thread.start();
+    }
+
+    private void run(final Runnable command) {
+        final Thread thread = currentThread();
+        waiting.put(thread, command);
+        try {
+            permits.acquire();
+        } catch (final InterruptedException e) {
+            // Stopped while waiting: shutdownNow returns the task
+            waiting.remove(thread);
+            finished();
+            return;
+        }
+        try {
+            // Claim the task unless shutdownNow already returned it
+            if (null == waiting.remove(thread))
+                return;
+            running.put(thread, command);
+            command.run();
+        } finally {
+            running.remove(thread);
+            permits.release();
+            finished();
+        }
+    }
+
+    private synchronized void finished() {
+        if (0 == --active)
+            notifyAll();
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (0 == active)
+            notifyAll();
+    }
+
+    /**
+     * Interrupts all running tasks, and returns the tasks still waiting for a
+     * permit.
+     */
+    @Nonnull
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        final List<Runnable> unstarted = new ArrayList<>();
+        for (final Thread thread : waiting.keySet()) {
+            final Runnable task = waiting.remove(thread);
+            if (null != task)
+                unstarted.add(task);
+            thread.interrupt();
+        }
+        for (final Thread thread : running.keySet())
+            thread.interrupt();
+        return unstarted;
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return shutdown && 0 == active;
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(final long timeout,
+            @Nonnull final TimeUnit unit)
+            throws InterruptedException {
+        final long deadline = nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            final long remaining = deadline - nanoTime();
+            if (0 >= remaining)
+                return false;
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * {@code Timers} is the one hashed timer wheel shared by the executors in
+ * this package for delays and deadlines.  Scheduling and cancelling are
+ * lock-free queue operations, not a scheduled task per call: a single daemon
+ * thread ticks each millisecond while timers are outstanding, and parks when
+ * there are none.  Cancelled timers are dropped lazily when their bucket next
+ * comes round.
+ * <p>
+ * Timed actions run on the wheel thread and must be short; hand real work to
+ * an executor, or use {@link #handOff(Runnable, long)} for actions which
+ * complete futures or submit to executors which may block or run tasks on
+ * the submitting thread.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+final class Timers {
+    private static final long TICK_NANOS = MILLISECONDS.toNanos(1);
+    private static final int WHEEL = 512; // Power of two
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 2;
+    private static final Queue<Timer> ADDED = new ConcurrentLinkedQueue<>();
+    /** Timers neither expired nor cancelled. */
+    private static final AtomicInteger OUTSTANDING = new AtomicInteger();
+    private static final Thread WHEEL_THREAD;
+    /** Runs handed off actions away from the wheel thread. */
+    private static final Executor HANDOFF = newCachedThreadPool(action -> {
+        final Thread thread = new Thread(action,
+                "binkley-concurrent-timers-handoff");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        WHEEL_THREAD = new Thread(new Wheel(), "binkley-concurrent-timers");
+        WHEEL_THREAD.setDaemon(true);
+        WHEEL_THREAD.start();
+    }
+
+    private Timers() {}
+
+    /**
+     * Runs the given <var>action</var> on the shared wheel thread after
+     * <var>nanos</var>, rounded up to the next tick.
+     *
+     * @param action the timed action, never missing
+     * @param nanos the delay in nanoseconds
+     *
+     * @return the cancellable timer, never missing
+     */
+    @Nonnull
+    static Timer schedule(@Nonnull final Runnable action, final long nanos) {
+        // Clamp so deadlines stay comparable by subtraction
+        final Timer timer = new Timer(action,
+                nanoTime() + Math.max(0L, Math.min(nanos, MAX_DELAY_NANOS)));
+        ADDED.add(timer);
+        if (1 == OUTSTANDING.incrementAndGet())
+            LockSupport.unpark(WHEEL_THREAD);
+        return timer;
+    }
+
+    /**
+     * Runs the given <var>action</var> on a shared daemon pool after
+     * <var>nanos</var>, rounded up to the next tick.  Use this for actions
+     * which may take long or block, so they do not hold up other timers.
+     *
+     * @param action the timed action, never missing
+     * @param nanos the delay in nanoseconds
+     *
+     * @return the cancellable timer, never missing
+     */
+    @Nonnull
+    static Timer handOff(@Nonnull final Runnable action, final long nanos) {
+        return schedule(() -> HANDOFF.execute(action), nanos);
+    }
+
+    /**
+     * Runs the given <var>action</var> at once on the shared daemon pool
+     * used by {@link #handOff(Runnable, long)}.
+     *
+     * @param action the action, never missing
+     */
+    static void handOff(@Nonnull final Runnable action) {
+        HANDOFF.execute(action);
+    }
+
+    /** A scheduled action on the timer wheel. */
+    static final class Timer {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable action;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long rounds; // Wheel thread only
+
+        private Timer(final Runnable action, final long deadline) {
+            this.action = action;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels this timer if it has not yet run.
+         *
+         * @return {@code true} if cancelled by this call
+         */
+        boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED))
+                return false;
+            OUTSTANDING.decrementAndGet();
+            return true;
+        }
+
+        private boolean isCancelled() {
+            return CANCELLED == state.get();
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED))
+                return;
+            OUTSTANDING.decrementAndGet();
+            try {
+                action.run();
+            } catch (final Throwable t) {
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().
+                        uncaughtException(thread, t);
+            }
+        }
+    }
+
+    private static final class Wheel
+            implements Runnable {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private final ArrayDeque<Timer>[] buckets = new ArrayDeque[WHEEL];
+        private final long start = nanoTime();
+        private long tick; // Last tick processed
+        private int inWheel;
+
+        private Wheel() {
+            for (int i = 0; i < WHEEL; ++i)
+                buckets[i] = new ArrayDeque<>();
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Thread.interrupted(); // Nothing to interrupt
+                final long now = tickOf(nanoTime());
+                if (0 == inWheel && ADDED.isEmpty()) {
+                    tick = now; // Nothing to catch up on
+                    if (0 == OUTSTANDING.get())
+                        LockSupport.park(this);
+                    continue;
+                }
+                addNew();
+                while (tick < now)
+                    expire(buckets[(int) (++tick & (WHEEL - 1))]);
+                LockSupport.parkNanos(this,
+                        start + (tick + 1) * TICK_NANOS - nanoTime());
+            }
+        }
+
+        private long tickOf(final long nanos) {
+            return (nanos - start) / TICK_NANOS;
+        }
+
+        private void addNew() {
+            for (Timer timer; null != (timer = ADDED.poll()); ) {
+                if (timer.isCancelled())
+                    continue;
+                // Round up, and never into a tick already processed
+                final long due = Math.max(tick + 1,
+                        tickOf(timer.deadline + TICK_NANOS - 1));
+                timer.rounds = (due - tick - 1) / WHEEL;
+                buckets[(int) (due & (WHEEL - 1))].add(timer);
+                ++inWheel;
+            }
+        }
+
+        private void expire(final ArrayDeque<Timer> bucket) {
+            for (final Iterator<Timer> it = bucket.iterator(); it.hasNext(); ) {
+                final Timer timer = it.next();
+                if (timer.isCancelled()) {
+                    it.remove();
+                    --inWheel;
+                } else if (0 < timer.rounds)
+                    --timer.rounds;
+                else {
+                    it.remove();
+                    --inWheel;
+                    timer.expire();
+                }
+            }
+        }
+    }
+}
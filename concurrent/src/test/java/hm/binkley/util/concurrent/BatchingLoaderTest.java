@@ -0,0 +1,190 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.DisableOnDebug;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static hm.binkley.util.concurrent.CompletableExecutors.batching;
+import static java.lang.Thread.currentThread;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code BatchingLoaderTest} tests {@link BatchingLoader}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class BatchingLoaderTest {
+    @Rule
+    public final TestRule timeout = new DisableOnDebug(Timeout.builder().
+            withTimeout(1, SECONDS).
+            withLookingForStuckThread(true).
+            build());
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void shouldDispatchFullBatches() {
+        try (final BatchingLoader<Integer, String> loader = loader(2,
+                ofMinutes(1))) {
+            final List<CompletableFuture<String>> futures = asList(
+                    loader.load(1), loader.load(2), loader.load(3),
+                    loader.load(4));
+
+            assertThat(futures.get(3).join(), is(equalTo("4")));
+            assertThat(futures.get(0).join(), is(equalTo("1")));
+            assertThat(batches,
+                    containsInAnyOrder(asList(1, 2), asList(3, 4)));
+        }
+    }
+
+    @Test
+    public void shouldDispatchAfterDelay() {
+        try (final BatchingLoader<Integer, String> loader = loader(100,
+                ofMillis(20))) {
+            final CompletableFuture<String> one = loader.load(1);
+            final CompletableFuture<String> two = loader.load(2);
+
+            assertThat(one.join() + two.join(), is(equalTo("12")));
+            assertThat(batches, contains(asList(1, 2)));
+        }
+    }
+
+    @Test
+    public void shouldNotDispatchAfterDelayOnTimerThread() {
+        final List<String> loaders = new CopyOnWriteArrayList<>();
+        // Direct executor: the bulk load runs on the dispatching thread
+        try (final BatchingLoader<Integer, String> loader = batching(
+                Runnable::run, keys -> {
+                    loaders.add(currentThread().getName());
+                    return keys.stream().
+                            collect(toMap(identity(), String::valueOf));
+                }, 100, ofMillis(20))) {
+            assertThat(loader.load(1).join(), is(equalTo("1")));
+            assertThat(loaders.get(0),
+                    is(not(equalTo("binkley-concurrent-timers"))));
+        }
+    }
+
+    @Test
+    public void shouldCoalesceKeys() {
+        final CompletableFuture<String> one;
+        try (final BatchingLoader<Integer, String> loader = loader(100,
+                ofMinutes(1))) {
+            one = loader.load(1);
+            assertThat(loader.load(1), is(sameInstance(one)));
+        }
+        one.join();
+
+        assertThat(batches, contains(asList(1)));
+    }
+
+    @Test
+    public void shouldDispatchOnClose() {
+        final CompletableFuture<String> one;
+        try (final BatchingLoader<Integer, String> loader = loader(100,
+                ofMinutes(1))) {
+            one = loader.load(1);
+        }
+
+        assertThat(one.join(), is(equalTo("1")));
+    }
+
+    @Test
+    public void shouldRejectWhenClosed() {
+        thrown.expect(IllegalStateException.class);
+
+        final BatchingLoader<Integer, String> loader = loader(100,
+                ofMinutes(1));
+        loader.close();
+        loader.load(1);
+    }
+
+    @Test
+    public void shouldFailBatchWhenLoaderFails() {
+        thrown.expect(CompletionException.class);
+        thrown.expectCause(is(instanceOf(IllegalStateException.class)));
+
+        try (final BatchingLoader<Integer, String> loader = batching(
+                Runnable::run, keys -> {
+                    throw new IllegalStateException();
+                }, 1, ofMinutes(1))) {
+            loader.load(1).join();
+        }
+    }
+
+    @Test
+    public void shouldFailMissingKeys() {
+        thrown.expect(CompletionException.class);
+        thrown.expectCause(is(instanceOf(NoSuchElementException.class)));
+
+        try (final BatchingLoader<Integer, String> loader = batching(
+                Runnable::run, keys -> emptyMap(), 1, ofMinutes(1))) {
+            loader.load(1).join();
+        }
+    }
+
+    private BatchingLoader<Integer, String> loader(final int maxBatch,
+            final Duration maxDelay) {
+        return batching(this::load, maxBatch, maxDelay);
+    }
+
+    private Map<Integer, String> load(final List<Integer> keys) {
+        batches.add(keys);
+        return keys.stream().
+                collect(toMap(identity(), String::valueOf));
+    }
+}
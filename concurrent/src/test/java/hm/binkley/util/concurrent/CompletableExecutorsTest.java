@@ -27,6 +27,7 @@
 
 package hm.binkley.util.concurrent;
 
+import hm.binkley.util.concurrent.CompletableExecutors.BoundedCompletableExecutorService;
 import hm.binkley.util.concurrent.CompletableExecutors.CompletableExecutorService;
 import org.junit.After;
 import org.junit.Before;
@@ -37,16 +38,37 @@ import org.junit.rules.ExpectedException;
 import org.junit.rules.TestRule;
 import org.junit.rules.Timeout;
 
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
-
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static hm.binkley.util.concurrent.CompletableExecutors.Backpressure.BLOCK;
+import static hm.binkley.util.concurrent.CompletableExecutors.Backpressure.CALLER_RUNS;
+import static hm.binkley.util.concurrent.CompletableExecutors.Backpressure.FAIL;
+import static hm.binkley.util.concurrent.CompletableExecutors.bounded;
 import static hm.binkley.util.concurrent.CompletableExecutors.completable;
+import static hm.binkley.util.concurrent.CompletableExecutors.virtual;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
@@ -131,6 +153,192 @@ public final class CompletableExecutorsTest {
         future.join();
     }
 
+    @Test
+    public void shouldInterruptWhenCancelledWhileRunning()
+            throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        final CompletableFuture<Object> future = threads.submit(() -> {
+            started.countDown();
+            try {
+                SECONDS.sleep(10);
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+        started.await();
+        future.cancel(true);
+
+        assertThat(interrupted.await(500, MILLISECONDS), is(true));
+        assertThat(future.isCancelled(), is(true));
+    }
+
+    @Test
+    public void shouldNotInterruptWhenCancelledWhileRunningWithoutInterrupt()
+            throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+
+        final CompletableFuture<Object> future = threads.submit(() -> {
+            started.countDown();
+            finish.await();
+            interrupted.set(Thread.currentThread().isInterrupted());
+            return null;
+        });
+        started.await();
+        future.cancel(false);
+        finish.countDown();
+        threads.shutdown();
+        threads.awaitTermination(1, SECONDS);
+
+        assertThat(interrupted.get(), is(false));
+    }
+
+    @Test
+    public void shouldNotLeakInterruptToNextTask()
+            throws ExecutionException, InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+
+        final CompletableFuture<Object> future = threads.submit(() -> {
+            started.countDown();
+            SECONDS.sleep(10);
+            return null;
+        });
+        started.await();
+        future.cancel(true);
+
+        assertThat(threads.submit(() -> Thread.currentThread().isInterrupted()).
+                get(), is(false));
+    }
+
+    @Test
+    public void shouldTimeOutAndInterrupt()
+            throws InterruptedException, ExecutionException {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final CompletableFuture<Object> future = threads.submit(() -> {
+            try {
+                SECONDS.sleep(10);
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        }, ofMillis(20));
+
+        try {
+            future.get();
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(TimeoutException.class)));
+        }
+        assertThat(interrupted.await(500, MILLISECONDS), is(true));
+        assertThat(threads.submit(() -> Thread.currentThread().isInterrupted()).
+                get(), is(false));
+    }
+
+    @Test
+    public void shouldCompleteBeforeTimeout()
+            throws InterruptedException, ExecutionException {
+        assertThat(threads.submit(() -> 3, ofMinutes(1)).get(),
+                is(equalTo(3)));
+    }
+
+    @Test
+    public void shouldHedgeSlowAttempts()
+            throws InterruptedException, ExecutionException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (final CompletableExecutorService threads = completable(
+                newFixedThreadPool(2))) {
+            assertThat(threads.submitHedged(() -> {
+                final int attempt = attempts.getAndIncrement();
+                if (0 == attempt)
+                    try {
+                        SECONDS.sleep(10);
+                    } catch (final InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                return attempt;
+            }, ofMillis(20), 3).get(), is(equalTo(1)));
+            assertThat(interrupted.await(500, MILLISECONDS), is(true));
+        }
+    }
+
+    @Test
+    public void shouldNotHedgeFastAttempts()
+            throws InterruptedException, ExecutionException {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThat(threads.submitHedged(attempts::incrementAndGet,
+                ofMinutes(1), 3).get(), is(equalTo(1)));
+        assertThat(attempts.get(), is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldHedgeFailedAttemptsAtOnce()
+            throws InterruptedException, ExecutionException {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        assertThat(threads.submitHedged(() -> {
+            if (0 == attempts.getAndIncrement())
+                throw new Foobar();
+            return 2;
+        }, ofMinutes(1), 2).get(), is(equalTo(2)));
+    }
+
+    @Test
+    public void shouldHedgeWhenFirstAttemptRunsOnCaller()
+            throws InterruptedException {
+        try (final BoundedCompletableExecutorService threads = bounded(
+                newSingleThreadExecutor(), 1, CALLER_RUNS)) {
+            final CountDownLatch release = block(threads);
+            threads.submit(() -> 1);
+            final Thread caller = Thread.currentThread();
+            final CountDownLatch hedged = new CountDownLatch(1);
+
+            final CompletableFuture<Boolean> result = threads.submitHedged(
+                    () -> {
+                        if (caller != Thread.currentThread()) {
+                            hedged.countDown();
+                            return true;
+                        }
+                        return hedged.await(10, SECONDS);
+                    }, ofMillis(20), 2);
+
+            assertThat(result.join(), is(true));
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldCountRejectedHedgeAsFailedAttempt()
+            throws InterruptedException, ExecutionException {
+        // No queue: backups are rejected while the first attempt runs
+        try (final CompletableExecutorService threads = completable(
+                new ThreadPoolExecutor(1, 1, 0, SECONDS,
+                        new SynchronousQueue<>()))) {
+            assertThat(threads.submitHedged(() -> {
+                MILLISECONDS.sleep(100);
+                return 3;
+            }, ofMillis(10), 3).get(), is(equalTo(3)));
+        }
+    }
+
+    @Test
+    public void shouldFailHedgeWhenAllAttemptsFail()
+            throws InterruptedException, ExecutionException {
+        thrown.expect(ExecutionException.class);
+        thrown.expectCause(is(instanceOf(Foobar.class)));
+
+        threads.submitHedged(() -> {throw new Foobar();}, ofMinutes(1), 3).
+                get();
+    }
+
     @Test
     public void shouldInterruptGetExternally()
             throws InterruptedException, ExecutionException {
@@ -222,6 +430,256 @@ public final class CompletableExecutorsTest {
         threads.awaitTermination(1, SECONDS);
     }
 
+    @Test
+    public void shouldDrainOnClose() {
+        final CompletableFuture<Object> running = threads.submit(() -> {
+            pause();
+            return null;
+        });
+        final CompletableFuture<Integer> queued = threads.submit(() -> 3);
+        threads.close();
+
+        assertThat(running.isDone(), is(true));
+        assertThat(queued.join(), is(equalTo(3)));
+        assertThat(threads.isTerminated(), is(true));
+        assertThat(threads.drained(), is(equalTo(2L)));
+        assertThat(threads.abandoned(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldCountOnlyFirstClose() {
+        threads.submit(() -> {
+            pause();
+            return null;
+        });
+        final CompletableFuture<Integer> queued = threads.submit(() -> 3);
+        threads.submit(() -> 4).cancel(true);
+        threads.close();
+        threads.close();
+
+        assertThat(queued.join(), is(equalTo(3)));
+        assertThat(threads.drained(), is(equalTo(2L)));
+        assertThat(threads.abandoned(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldAbandonAfterDrainDeadline()
+            throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger interrupts = new AtomicInteger();
+        final CompletableFuture<Object> stubborn = threads.submit(() -> {
+            started.countDown();
+            while (true)
+                try {
+                    SECONDS.sleep(10);
+                } catch (final InterruptedException e) {
+                    // Ignores the interrupt from shutdownNow
+                    if (1 < interrupts.incrementAndGet())
+                        throw e;
+                }
+        });
+        final CompletableFuture<Integer> queued = threads.submit(() -> 3);
+        started.await();
+        threads.close(ofMillis(20));
+
+        assertThat(stubborn.isCancelled(), is(true));
+        assertThat(queued.isCancelled(), is(true));
+        assertThat(threads.drained(), is(equalTo(0L)));
+        assertThat(threads.abandoned(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void shouldCloseWithConfiguredDrainDeadline() {
+        try (final CompletableExecutorService threads = completable(
+                newSingleThreadExecutor(), ofMillis(20))) {
+            threads.submit(() -> {
+                SECONDS.sleep(10);
+                return null;
+            });
+        }
+    }
+
+    @Test
+    public void shouldSubmitAll()
+            throws ExecutionException, InterruptedException {
+        final List<Callable<Integer>> tasks = asList(() -> 1, () -> 2);
+
+        assertThat(threads.submitAll(tasks).get(), contains(1, 2));
+    }
+
+    @Test
+    public void shouldSubmitAllExceptionally()
+            throws ExecutionException, InterruptedException {
+        thrown.expect(ExecutionException.class);
+        thrown.expectCause(is(instanceOf(Foobar.class)));
+
+        final List<Callable<Integer>> tasks = asList(() -> 1, () -> {
+            throw new Foobar();
+        });
+        threads.submitAll(tasks).get();
+    }
+
+    @Test
+    public void shouldSubmitAllByCompletion() {
+        final List<Callable<Integer>> tasks = asList(() -> {
+            pause();
+            return 1;
+        }, () -> 2);
+
+        try (final CompletableExecutorService threads = completable(
+                newFixedThreadPool(2));
+                final Stream<CompletableFuture<Integer>> completed = threads.
+                        submitAllByCompletion(tasks)) {
+            assertThat(completed.map(CompletableFuture::join).
+                    collect(toList()), contains(2, 1));
+        }
+    }
+
+    @Test
+    public void shouldInvokeAll()
+            throws InterruptedException {
+        final List<Callable<Integer>> tasks = asList(() -> 1, () -> 2);
+
+        assertThat(threads.invokeAll(tasks).stream().
+                map(future -> ((CompletableFuture<Integer>) future).join()).
+                collect(toList()), contains(1, 2));
+    }
+
+    @Test
+    public void shouldInvokeAnyCancellingTheRest()
+            throws ExecutionException, InterruptedException {
+        final AtomicBoolean ran = new AtomicBoolean();
+        final List<Callable<Integer>> tasks = asList(() -> {
+            pause();
+            return 1;
+        }, () -> {
+            ran.set(true);
+            return 2;
+        });
+
+        assertThat(threads.invokeAny(tasks), is(equalTo(1)));
+        threads.shutdown();
+        threads.awaitTermination(1, SECONDS);
+        assertThat(ran.get(), is(false));
+    }
+
+    @Test
+    public void shouldRunVirtually()
+            throws ExecutionException, InterruptedException {
+        try (final CompletableExecutorService threads = virtual(1)) {
+            assertThat(threads.submit(() -> 3).get(), is(equalTo(3)));
+        }
+    }
+
+    @Test
+    public void shouldCapVirtualConcurrency()
+            throws InterruptedException {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger most = new AtomicInteger();
+        final Callable<Object> task = () -> {
+            most.accumulateAndGet(running.incrementAndGet(), Math::max);
+            MILLISECONDS.sleep(20);
+            running.decrementAndGet();
+            return null;
+        };
+
+        try (final CompletableExecutorService threads = virtual(2)) {
+            threads.invokeAll(nCopies(6, task));
+        }
+
+        assertThat(most.get(), is(equalTo(2)));
+    }
+
+    @Test
+    public void shouldFailWhenFull()
+            throws InterruptedException {
+        try (final BoundedCompletableExecutorService threads = bounded(
+                newSingleThreadExecutor(), 1, FAIL)) {
+            final CountDownLatch release = block(threads);
+            threads.submit(() -> 1);
+            final CompletableFuture<Integer> rejected = threads.
+                    submit(() -> 2);
+
+            assertThat(threads.queued(), is(equalTo(1)));
+            assertThat(threads.rejected(), is(equalTo(1L)));
+            release.countDown();
+
+            thrown.expect(CompletionException.class);
+            thrown.expectCause(
+                    is(instanceOf(RejectedExecutionException.class)));
+            rejected.join();
+        }
+    }
+
+    @Test
+    public void shouldRunOnCallerWhenFull()
+            throws InterruptedException {
+        try (final BoundedCompletableExecutorService threads = bounded(
+                newSingleThreadExecutor(), 1, CALLER_RUNS)) {
+            final CountDownLatch release = block(threads);
+            threads.submit(() -> 1);
+            final Thread caller = Thread.currentThread();
+
+            assertThat(threads.submit(() -> Thread.currentThread()).join(),
+                    is(caller));
+            assertThat(threads.rejected(), is(equalTo(1L)));
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldNotRetainRejected()
+            throws InterruptedException {
+        final BoundedCompletableExecutorService threads = bounded(
+                newSingleThreadExecutor(), 1, FAIL);
+        final CountDownLatch release = block(threads);
+        threads.submit(() -> 1);
+        for (int i = 0; i < 1000; ++i)
+            threads.submit(() -> 2);
+        // Release while closing, so both tasks are in flight at close
+        Timers.schedule(release::countDown, MILLISECONDS.toNanos(50));
+        threads.close();
+
+        assertThat(threads.rejected(), is(equalTo(1000L)));
+        assertThat(threads.drained(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void shouldBlockWhenFull()
+            throws InterruptedException {
+        try (final BoundedCompletableExecutorService threads = bounded(
+                newSingleThreadExecutor(), 1, BLOCK)) {
+            final CountDownLatch release = block(threads);
+            threads.submit(() -> 1);
+            new Thread(() -> {
+                try {
+                    pause();
+                } catch (final InterruptedException ignored) {
+                }
+                release.countDown();
+            }).start();
+
+            assertThat(threads.submit(() -> 2).join(), is(equalTo(2)));
+            assertThat(threads.blocked(), is(equalTo(1L)));
+            assertThat(threads.queued(), is(equalTo(0)));
+        }
+    }
+
+    /** Occupies the only thread, leaving the queue empty. */
+    private static CountDownLatch block(
+            final CompletableExecutorService threads)
+            throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        threads.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        started.await();
+        return release;
+    }
+
     private static void pause()
             throws InterruptedException {
         MILLISECONDS.sleep(100);
@@ -0,0 +1,208 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import hm.binkley.util.concurrent.CompletableExecutors.CompletableExecutorService;
+import hm.binkley.util.concurrent.CompletableExecutorsTest.Foobar;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.DisableOnDebug;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static hm.binkley.util.concurrent.CompletableExecutors.virtual;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * {@code CompletableScopeTest} tests {@link CompletableScope}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class CompletableScopeTest {
+    @Rule
+    public final TestRule timeout = new DisableOnDebug(Timeout.builder().
+            withTimeout(1, SECONDS).
+            withLookingForStuckThread(true).
+            build());
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private CompletableExecutorService threads;
+
+    @Before
+    public void setUp() {
+        threads = virtual(4);
+    }
+
+    @After
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void shouldJoinAll()
+            throws ExecutionException, InterruptedException {
+        try (final CompletableScope scope = threads.scope()) {
+            final CompletableFuture<Integer> a = scope.submit(() -> {
+                MILLISECONDS.sleep(50);
+                return 1;
+            });
+            final CompletableFuture<Integer> b = scope.submit(() -> 2);
+            scope.join();
+
+            assertThat(a.isDone() && b.isDone(), is(true));
+            assertThat(a.join() + b.join(), is(equalTo(3)));
+        }
+    }
+
+    @Test
+    public void shouldCancelSiblingsOnFailure()
+            throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (final CompletableScope scope = threads.scope()) {
+            final CompletableFuture<Object> sibling = scope.submit(() -> {
+                started.countDown();
+                try {
+                    SECONDS.sleep(10);
+                } catch (final InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return null;
+            });
+            started.await();
+            scope.submit(() -> {throw new Foobar();});
+            try {
+                scope.join();
+                fail("Did not throw");
+            } catch (final ExecutionException e) {
+                assertThat(e.getCause(), is(instanceOf(Foobar.class)));
+            }
+
+            assertThat(sibling.isCancelled(), is(true));
+            assertThat(interrupted.await(500, MILLISECONDS), is(true));
+        }
+    }
+
+    @Test
+    public void shouldUnwrapInterrupts()
+            throws ExecutionException, InterruptedException {
+        thrown.expect(InterruptedException.class);
+
+        try (final CompletableScope scope = threads.scope()) {
+            scope.submit(() -> {throw new InterruptedException();});
+            scope.join();
+        }
+    }
+
+    @Test
+    public void shouldCancelOnClose() {
+        final CompletableFuture<Object> future;
+        try (final CompletableScope scope = threads.scope()) {
+            future = scope.submit(() -> {
+                SECONDS.sleep(10);
+                return null;
+            });
+        }
+
+        assertThat(future.isCancelled(), is(true));
+    }
+
+    @Test
+    public void shouldWaitForCancelledTasksOnClose()
+            throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean stopped = new AtomicBoolean();
+
+        try (final CompletableScope scope = threads.scope()) {
+            scope.submit(() -> {
+                started.countDown();
+                try {
+                    SECONDS.sleep(10);
+                } finally {
+                    MILLISECONDS.sleep(50); // Uninterrupted cleanup
+                    stopped.set(true);
+                }
+                return null;
+            });
+            started.await();
+        }
+
+        assertThat(stopped.get(), is(true));
+    }
+
+    @Test
+    public void shouldCancelWhenJoinInterrupted()
+            throws ExecutionException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Object> future;
+
+        try (final CompletableScope scope = threads.scope()) {
+            future = scope.submit(() -> {
+                started.countDown();
+                SECONDS.sleep(10);
+                return null;
+            });
+            try {
+                started.await();
+                currentThread().interrupt();
+                scope.join();
+                fail("Did not throw");
+            } catch (final InterruptedException ignored) {
+            }
+        }
+
+        assertThat(future.isCancelled(), is(true));
+    }
+
+    @Test
+    public void shouldRejectWhenClosed() {
+        thrown.expect(IllegalStateException.class);
+
+        final CompletableScope scope = threads.scope();
+        scope.close();
+        scope.submit(() -> 3);
+    }
+}
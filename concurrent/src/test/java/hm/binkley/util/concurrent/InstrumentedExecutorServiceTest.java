@@ -0,0 +1,162 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import hm.binkley.util.concurrent.CompletableExecutors.InstrumentedCompletableExecutorService;
+import hm.binkley.util.concurrent.CompletableExecutorsTest.Foobar;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.DisableOnDebug;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+import java.util.concurrent.CompletableFuture;
+
+import static hm.binkley.util.concurrent.CompletableExecutors.completable;
+import static hm.binkley.util.concurrent.CompletableExecutors.instrumented;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code InstrumentedExecutorServiceTest} tests {@link
+ * InstrumentedExecutorService}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class InstrumentedExecutorServiceTest {
+    @Rule
+    public final TestRule timeout = new DisableOnDebug(Timeout.builder().
+            withTimeout(1, SECONDS).
+            withLookingForStuckThread(true).
+            build());
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private InstrumentedCompletableExecutorService threads;
+
+    @Before
+    public void setUp() {
+        threads = instrumented(completable(newSingleThreadExecutor()),
+                getClass().getSimpleName());
+    }
+
+    @After
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void shouldCountCompleted()
+            throws InterruptedException {
+        threads.submit(() -> 1);
+        threads.submit(() -> 2);
+        finish();
+
+        final ExecutorMetrics metrics = threads.metrics();
+        assertThat(metrics.getCompleted(), is(equalTo(2L)));
+        assertThat(metrics.getFailed(), is(equalTo(0L)));
+        assertThat(metrics.getQueued(), is(equalTo(0)));
+        assertThat(metrics.getActive(), is(equalTo(0)));
+        assertThat(metrics.getRunTime().count(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void shouldCountExceptionsByType()
+            throws InterruptedException {
+        threads.submit(() -> {throw new Foobar();});
+        finish();
+
+        final ExecutorMetrics metrics = threads.metrics();
+        assertThat(metrics.getFailed(), is(equalTo(1L)));
+        assertThat(metrics.getExceptionCounts(),
+                is(equalTo(singletonMap(Foobar.class, 1L))));
+    }
+
+    @Test
+    public void shouldMeasureQueueWait()
+            throws InterruptedException {
+        threads.submit(() -> {
+            MILLISECONDS.sleep(50);
+            return null;
+        });
+        threads.submit(() -> 2);
+        finish();
+
+        assertThat(threads.metrics().getQueueWait().max(),
+                is(greaterThanOrEqualTo(MILLISECONDS.toNanos(40))));
+        assertThat(threads.metrics().getRunTime().max(),
+                is(greaterThanOrEqualTo(MILLISECONDS.toNanos(40))));
+    }
+
+    @Test
+    public void shouldCountActive()
+            throws InterruptedException {
+        final CompletableFuture<Object> running = new CompletableFuture<>();
+        threads.submit(() -> {
+            running.complete(null);
+            MILLISECONDS.sleep(50);
+            return null;
+        });
+        threads.submit(() -> 2);
+        running.join();
+
+        assertThat(threads.metrics().getActive(), is(equalTo(1)));
+        assertThat(threads.metrics().getQueued(), is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldRejectDuplicateNames() {
+        thrown.expect(IllegalStateException.class);
+
+        instrumented(completable(newSingleThreadExecutor()),
+                getClass().getSimpleName());
+    }
+
+    @Test
+    public void shouldUnregisterOnClose() {
+        threads.close();
+
+        instrumented(completable(newSingleThreadExecutor()),
+                getClass().getSimpleName()).close();
+    }
+
+    private void finish()
+            throws InterruptedException {
+        threads.shutdown();
+        threads.awaitTermination(1, SECONDS);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static hm.binkley.util.concurrent.LatencyHistogram.bucket;
+import static hm.binkley.util.concurrent.LatencyHistogram.upperBound;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code LatencyHistogramTest} tests {@link LatencyHistogram}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class LatencyHistogramTest {
+    @Test
+    public void shouldBeEmpty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.count(), is(equalTo(0L)));
+        assertThat(histogram.percentile(99), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldBoundBuckets() {
+        final Random random = new Random(1L);
+        for (int i = 0; i < 10_000; ++i) {
+            final long value = random.nextLong() >>> 1 + random.nextInt(63);
+            final int bucket = bucket(value);
+
+            assertThat(upperBound(bucket), is(greaterThanOrEqualTo(value)));
+            assertThat(bucket(upperBound(bucket)), is(equalTo(bucket)));
+        }
+        assertThat(upperBound(bucket(Long.MAX_VALUE)),
+                is(equalTo(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void shouldComputePercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; ++i)
+            histogram.record(i);
+
+        assertThat(histogram.percentile(50), is(greaterThanOrEqualTo(500L)));
+        assertThat(histogram.percentile(50), is(lessThanOrEqualTo(531L)));
+        assertThat(histogram.percentile(99), is(greaterThanOrEqualTo(990L)));
+        assertThat(histogram.percentile(100), is(equalTo(1000L)));
+        assertThat(histogram.mean(), is(equalTo(500.5d)));
+    }
+
+    @Test
+    public void shouldRecordNegativeAsZero() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1L);
+
+        assertThat(histogram.max(), is(equalTo(0L)));
+    }
+}
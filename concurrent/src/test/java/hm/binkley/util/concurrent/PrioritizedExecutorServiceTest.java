@@ -0,0 +1,172 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import hm.binkley.util.concurrent.CompletableExecutors.CompletableExecutorService;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.DisableOnDebug;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static hm.binkley.util.concurrent.CompletableExecutors.prioritized;
+import static hm.binkley.util.concurrent.Prioritized.prioritized;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code PrioritizedExecutorServiceTest} tests {@link
+ * PrioritizedExecutorService}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class PrioritizedExecutorServiceTest {
+    @Rule
+    public final TestRule timeout = new DisableOnDebug(Timeout.builder().
+            withTimeout(1, SECONDS).
+            withLookingForStuckThread(true).
+            build());
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private CompletableExecutorService threads;
+
+    @After
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void shouldGetNormally()
+            throws ExecutionException, InterruptedException {
+        threads = prioritized(2, 2);
+
+        assertThat(threads.submit(() -> 3).get(), is(equalTo(3)));
+    }
+
+    @Test
+    public void shouldRunHigherPriorityFirst()
+            throws InterruptedException {
+        threads = prioritized(1, 2);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final List<String> ran = new CopyOnWriteArrayList<>();
+
+        threads.submit(() -> {
+            blocked.await();
+            return null;
+        });
+        threads.submit(() -> ran.add("low 1"));
+        threads.submit(() -> ran.add("low 2"));
+        threads.submit(prioritized(1, () -> ran.add("high")));
+        blocked.countDown();
+        threads.shutdown();
+        threads.awaitTermination(1, SECONDS);
+
+        assertThat(ran, contains("high", "low 1", "low 2"));
+    }
+
+    @Test
+    public void shouldClampPriority()
+            throws ExecutionException, InterruptedException {
+        threads = prioritized(1, 2);
+
+        assertThat(threads.submit(prioritized(-1, () -> 1)).get(),
+                is(equalTo(1)));
+        assertThat(threads.submit(prioritized(3, () -> 2)).get(),
+                is(equalTo(2)));
+    }
+
+    @Test
+    public void shouldStealWork()
+            throws ExecutionException, InterruptedException {
+        threads = prioritized(2, 1);
+
+        // Without stealing the inner task waits behind the outer one forever
+        assertThat(threads.submit(() -> {
+            final CountDownLatch stolen = new CountDownLatch(1);
+            threads.submit(stolen::countDown);
+            return stolen.await(500, MILLISECONDS);
+        }).get(), is(true));
+    }
+
+    @Test
+    public void shouldRejectAfterShutdown() {
+        thrown.expect(RejectedExecutionException.class);
+
+        threads = prioritized(1, 1);
+        threads.shutdown();
+        threads.submit(() -> 3);
+    }
+
+    @Test
+    public void shouldDrainAfterShutdown()
+            throws InterruptedException {
+        threads = prioritized(1, 1);
+        final CompletableFuture<Object> pending = threads.submit(() -> {
+            MILLISECONDS.sleep(100);
+            return null;
+        });
+        final CompletableFuture<Integer> queued = threads.submit(() -> 3);
+        threads.shutdown();
+
+        assertThat(threads.awaitTermination(1, SECONDS), is(true));
+        assertThat(pending.isDone(), is(true));
+        assertThat(queued.join(), is(equalTo(3)));
+    }
+
+    @Test
+    public void shouldReturnQueuedOnShutdownNow()
+            throws InterruptedException {
+        threads = prioritized(1, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        threads.submit(() -> {
+            started.countDown();
+            SECONDS.sleep(10);
+            return null;
+        });
+        threads.submit(() -> 3);
+        started.await();
+
+        assertThat(threads.shutdownNow(), hasSize(1));
+        assertThat(threads.awaitTermination(1, SECONDS), is(true));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util.concurrent;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.DisableOnDebug;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code TimersTest} tests {@link Timers}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class TimersTest {
+    @Rule
+    public final TestRule timeout = new DisableOnDebug(Timeout.builder().
+            withTimeout(2, SECONDS).
+            withLookingForStuckThread(true).
+            build());
+
+    @Test
+    public void shouldExpireAfterDelay()
+            throws InterruptedException {
+        final CountDownLatch expired = new CountDownLatch(1);
+        final long start = nanoTime();
+        Timers.schedule(expired::countDown, MILLISECONDS.toNanos(20));
+        expired.await();
+
+        assertThat(nanoTime() - start,
+                is(greaterThanOrEqualTo(MILLISECONDS.toNanos(20))));
+    }
+
+    @Test
+    public void shouldExpireAfterMoreThanOneTurn()
+            throws InterruptedException {
+        final CountDownLatch expired = new CountDownLatch(1);
+        final long start = nanoTime();
+        Timers.schedule(expired::countDown, MILLISECONDS.toNanos(600));
+        expired.await();
+
+        assertThat(nanoTime() - start,
+                is(greaterThanOrEqualTo(MILLISECONDS.toNanos(600))));
+    }
+
+    @Test
+    public void shouldNotExpireWhenCancelled()
+            throws InterruptedException {
+        final CountDownLatch expired = new CountDownLatch(1);
+        final Timers.Timer timer = Timers.schedule(expired::countDown,
+                MILLISECONDS.toNanos(20));
+
+        assertThat(timer.cancel(), is(true));
+        assertThat(expired.await(100, MILLISECONDS), is(false));
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util;
+
+import javax.annotation.Nonnull;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+import static java.time.chrono.IsoChronology.INSTANCE;
+
+/**
+ * {@code CharSequenceParsers} parses values from a region of a character buffer without first
+ * copying the region into a string.  Use these with {@code CharBuffer}s over large or memory-mapped
+ * input.
+ * <p>
+ * Each parser handles the common plain form directly, for example, ASCII digits for numbers or
+ * {@code 2001-02-03T04:05:06Z} for instants.  Anything else, including invalid input, falls back
+ * to the JDK parser on a copied string, so results and exceptions are the same as for the JDK.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ * @see Converter#charSequenceConversionFor(com.google.common.reflect.TypeToken)
+ */
+public final class CharSequenceParsers {
+    /** Powers of ten exactly representable as doubles. */
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+            1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final int[] NANOS_SCALE = {0, 100_000_000, 10_000_000, 1_000_000, 100_000,
+            10_000, 1_000, 100, 10, 1};
+
+    private CharSequenceParsers() {
+    }
+
+    /**
+     * Parses an {@code int} from <var>length</var> characters of <var>buffer</var> starting at
+     * <var>offset</var>.
+     *
+     * @throws NumberFormatException as for {@link Integer#parseInt(String)}
+     */
+    public static int parseInt(@Nonnull final CharSequence buffer, final int offset,
+            final int length)
+            throws NumberFormatException {
+        final int start = offset + sign(buffer, offset, length);
+        final int end = offset + length;
+        // At most 10 digits cannot overflow a long
+        if (start == end || 10 < end - start)
+            return Integer.parseInt(string(buffer, offset, length));
+        long n = 0;
+        for (int i = start; i < end; ++i) {
+            final int digit = buffer.charAt(i) - '0';
+            if (digit < 0 || 9 < digit)
+                return Integer.parseInt(string(buffer, offset, length));
+            n = n * 10 + digit;
+        }
+        if ('-' == buffer.charAt(offset))
+            n = -n;
+        if (n < Integer.MIN_VALUE || Integer.MAX_VALUE < n)
+            return Integer.parseInt(string(buffer, offset, length));
+        return (int) n;
+    }
+
+    /**
+     * Parses a {@code long} from <var>length</var> characters of <var>buffer</var> starting at
+     * <var>offset</var>.
+     *
+     * @throws NumberFormatException as for {@link Long#parseLong(String)}
+     */
+    public static long parseLong(@Nonnull final CharSequence buffer, final int offset,
+            final int length)
+            throws NumberFormatException {
+        final int start = offset + sign(buffer, offset, length);
+        final int end = offset + length;
+        // At most 18 digits cannot overflow a long
+        if (start == end || 18 < end - start)
+            return Long.parseLong(string(buffer, offset, length));
+        long n = 0;
+        for (int i = start; i < end; ++i) {
+            final int digit = buffer.charAt(i) - '0';
+            if (digit < 0 || 9 < digit)
+                return Long.parseLong(string(buffer, offset, length));
+            n = n * 10 + digit;
+        }
+        return '-' == buffer.charAt(offset) ? -n : n;
+    }
+
+    /**
+     * Parses a {@code double} from <var>length</var> characters of <var>buffer</var> starting at
+     * <var>offset</var>.  Plain decimals with at most 15 significant digits and small exponents
+     * convert exactly without a string, other forms use {@link Double#parseDouble(String)}.
+     *
+     * @throws NumberFormatException as for {@link Double#parseDouble(String)}
+     */
+    public static double parseDouble(@Nonnull final CharSequence buffer, final int offset,
+            final int length)
+            throws NumberFormatException {
+        final int end = offset + length;
+        int i = offset + sign(buffer, offset, length);
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean any = false;
+        boolean point = false;
+        for (; i < end; ++i) {
+            final char c = buffer.charAt(i);
+            if ('0' <= c && c <= '9') {
+                // 15 digits are below 2^53, so the mantissa is an exact double
+                if (15 == digits)
+                    return Double.parseDouble(string(buffer, offset, length));
+                mantissa = mantissa * 10 + c - '0';
+                if (0 != mantissa)
+                    ++digits;
+                if (point)
+                    --scale;
+                any = true;
+            } else if ('.' == c && !point)
+                point = true;
+            else
+                break;
+        }
+        if (!any)
+            return Double.parseDouble(string(buffer, offset, length));
+        if (i < end) {
+            // Exponents of at most 2 digits with optional sign
+            final char e = buffer.charAt(i);
+            final int start = i + 1 + sign(buffer, i + 1, end - i - 1);
+            if ('e' != e && 'E' != e || start == end || 2 < end - start
+                    || !digits(buffer, start, end - start))
+                return Double.parseDouble(string(buffer, offset, length));
+            final int exponent = number(buffer, start, end - start);
+            scale += '-' == buffer.charAt(i + 1) ? -exponent : exponent;
+        }
+        if (scale < -22 || 22 < scale)
+            return Double.parseDouble(string(buffer, offset, length));
+        final double value = scale < 0
+                ? mantissa / POWERS_OF_TEN[-scale]
+                : mantissa * POWERS_OF_TEN[scale];
+        return '-' == buffer.charAt(offset) ? -value : value;
+    }
+
+    /**
+     * Parses an {@code Instant} from <var>length</var> characters of <var>buffer</var> starting at
+     * <var>offset</var>.  The form {@code yyyy-MM-ddTHH:mm:ss[.fraction]Z} parses without a
+     * string, other forms use {@link Instant#parse(CharSequence)}.
+     *
+     * @throws DateTimeParseException as for {@link Instant#parse(CharSequence)}
+     */
+    @Nonnull
+    public static Instant parseInstant(@Nonnull final CharSequence buffer, final int offset,
+            final int length)
+            throws DateTimeParseException {
+        if (length < 20 || 30 < length || 21 == length
+                || !shaped(buffer, offset, "####-##-##T##:##:##")
+                || 'Z' != buffer.charAt(offset + length - 1)
+                || 20 < length && ('.' != buffer.charAt(offset + 19)
+                || !digits(buffer, offset + 20, length - 21)))
+            return Instant.parse(string(buffer, offset, length));
+        final int year = number(buffer, offset, 4);
+        final int month = number(buffer, offset + 5, 2);
+        final int day = number(buffer, offset + 8, 2);
+        final int hour = number(buffer, offset + 11, 2);
+        final int minute = number(buffer, offset + 14, 2);
+        final int second = number(buffer, offset + 17, 2);
+        if (!valid(year, month, day) || 23 < hour || 59 < minute || 59 < second)
+            return Instant.parse(string(buffer, offset, length));
+        final int fraction = 20 < length ? length - 21 : 0;
+        final int nanos = 0 == fraction
+                ? 0
+                : number(buffer, offset + 20, fraction) * NANOS_SCALE[fraction];
+        return Instant.ofEpochSecond(
+                epochDay(year, month, day) * 86_400L + hour * 3_600 + minute * 60 + second,
+                nanos);
+    }
+
+    /**
+     * Parses a {@code LocalDate} from <var>length</var> characters of <var>buffer</var> starting
+     * at <var>offset</var>.  The form {@code yyyy-MM-dd} parses without a string, other forms use
+     * {@link LocalDate#parse(CharSequence)}.
+     *
+     * @throws DateTimeParseException as for {@link LocalDate#parse(CharSequence)}
+     */
+    @Nonnull
+    public static LocalDate parseLocalDate(@Nonnull final CharSequence buffer, final int offset,
+            final int length)
+            throws DateTimeParseException {
+        if (10 != length || !shaped(buffer, offset, "####-##-##"))
+            return LocalDate.parse(string(buffer, offset, length));
+        final int year = number(buffer, offset, 4);
+        final int month = number(buffer, offset + 5, 2);
+        final int day = number(buffer, offset + 8, 2);
+        if (!valid(year, month, day))
+            return LocalDate.parse(string(buffer, offset, length));
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Parses a {@code UUID} from <var>length</var> characters of <var>buffer</var> starting at
+     * <var>offset</var>.  The canonical 36-character form parses without a string, other forms use
+     * {@link UUID#fromString(String)}.
+     *
+     * @throws IllegalArgumentException as for {@link UUID#fromString(String)}
+     */
+    @Nonnull
+    public static UUID parseUuid(@Nonnull final CharSequence buffer, final int offset,
+            final int length)
+            throws IllegalArgumentException {
+        if (36 != length || '-' != buffer.charAt(offset + 8)
+                || '-' != buffer.charAt(offset + 13) || '-' != buffer.charAt(offset + 18)
+                || '-' != buffer.charAt(offset + 23))
+            return UUID.fromString(string(buffer, offset, length));
+        final long a = hex(buffer, offset, 8);
+        final long b = hex(buffer, offset + 9, 4);
+        final long c = hex(buffer, offset + 14, 4);
+        final long d = hex(buffer, offset + 19, 4);
+        final long e = hex(buffer, offset + 24, 12);
+        if ((a | b | c | d | e) < 0)
+            return UUID.fromString(string(buffer, offset, length));
+        return new UUID(a << 32 | b << 16 | c, d << 48 | e);
+    }
+
+    /** Copies the region into a string for the fallback parsers. */
+    static String string(final CharSequence buffer, final int offset, final int length) {
+        return buffer.subSequence(offset, offset + length).toString();
+    }
+
+    private static int sign(final CharSequence buffer, final int offset, final int length) {
+        if (0 == length)
+            return 0;
+        final char c = buffer.charAt(offset);
+        return '-' == c || '+' == c ? 1 : 0;
+    }
+
+    /** In <var>shape</var> {@code #} is any ASCII digit and other characters match exactly. */
+    private static boolean shaped(final CharSequence buffer, final int offset,
+            final String shape) {
+        for (int i = 0; i < shape.length(); ++i) {
+            final char expected = shape.charAt(i);
+            final char actual = buffer.charAt(offset + i);
+            if ('#' == expected ? actual < '0' || '9' < actual : expected != actual)
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean digits(final CharSequence buffer, final int offset, final int count) {
+        for (int i = offset; i < offset + count; ++i) {
+            final char c = buffer.charAt(i);
+            if (c < '0' || '9' < c)
+                return false;
+        }
+        return true;
+    }
+
+    private static int number(final CharSequence buffer, final int offset, final int count) {
+        int n = 0;
+        for (int i = offset; i < offset + count; ++i)
+            n = n * 10 + buffer.charAt(i) - '0';
+        return n;
+    }
+
+    /** Returns the hex value, or -1 for any character not a hex digit. */
+    private static long hex(final CharSequence buffer, final int offset, final int count) {
+        long n = 0;
+        for (int i = offset; i < offset + count; ++i) {
+            final int digit = Character.digit(buffer.charAt(i), 16);
+            if (digit < 0)
+                return -1;
+            n = n << 4 | digit;
+        }
+        return n;
+    }
+
+    private static boolean valid(final int year, final int month, final int day) {
+        return 1 <= month && month <= 12 && 1 <= day
+                && day <= Month.of(month).length(INSTANCE.isLeapYear(year));
+    }
+
+    /** Follows {@code LocalDate.toEpochDay()} for non-negative years. */
+    private static long epochDay(final long year, final long month, final long day) {
+        long total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (2 < month) {
+            --total;
+            if (!INSTANCE.isLeapYear(year))
+                --total;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
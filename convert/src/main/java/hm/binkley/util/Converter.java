@@ -27,6 +27,7 @@
 
 package hm.binkley.util;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.net.HostAndPort;
 import com.google.common.reflect.TypeToken;
 import org.springframework.core.io.DefaultResourceLoader;
@@ -41,23 +42,35 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import static com.google.common.primitives.Primitives.wrap;
+import static java.lang.Double.parseDouble;
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+import static java.lang.String.format;
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.lang.invoke.MethodType.methodType;
 import static java.net.InetSocketAddress.createUnresolved;
 import static java.util.Arrays.asList;
-import static java.util.Collections.unmodifiableSet;
+import static java.util.Collections.unmodifiableList;
 
 /**
  * {@code Converter} is the opposite of {@code toString()}.  It turns strings into objects.  Useful,
@@ -73,10 +86,23 @@ import static java.util.Collections.unmodifiableSet;
  * or constructor in this order: <ol><li>Factory method {@code parse(String)}</li> <li>Factory
  * method {@code valueOf(String)}</li> <li>Factory method {@code of(String)}</li> <li>Constructor
  * {@code T(String)}</li> <li>Constructor {@code T(CharSequence)}</li></ol>
+ * <p>
+ * Resolved conversions are cached: implicit conversions per raw class, including types with no
+ * conversion, so the reflective lookup runs at most once per class rather than once per call.  Use
+ * {@link #conversionFor(TypeToken)} to resolve a conversion once and apply it to many values.
+ * <p>
+ * To convert regions of large character buffers without a string per value, use {@link
+ * #charSequenceConversionFor(TypeToken)}.  Primitive wrappers, {@code Instant}, {@code LocalDate}
+ * and {@code UUID} parse in place with {@link CharSequenceParsers}; other types copy the region
+ * into a string for their usual conversion.
+ * <p>
+ * Converters are safe to share between threads.  Registrations replace an immutable snapshot of
+ * the registry without locking, and conversions read the current snapshot.  Use {@link
+ * #defaultConverter()} for the shared read-only converter with only default conversions, or {@link
+ * #builder()} to build a read-only converter with more.
  *
  * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
  * @todo Remove duplication with xprop
- * @todo Discuss concurrency safety
  * @todo Do factory methods need to consider CharSequence?
  * @see #register(Class, Conversion)
  * @see #register(TypeToken, Conversion)
@@ -84,27 +110,96 @@ import static java.util.Collections.unmodifiableSet;
 public final class Converter {
     private static final MethodType STRING_CTOR = methodType(void.class, String.class);
     private static final MethodType CHAR_SEQUENCE_CTOR = methodType(void.class, CharSequence.class);
-    private final Map<TypeToken<?>, Conversion<?, ? extends Exception>> conversions
-            = new HashMap<>();
+    private static final MethodType GENERIC = methodType(Object.class, String.class);
+    private static final Conversion<?, RuntimeException> IDENTITY = value -> value;
+    /** Marks a class without an implicit conversion, as {@code ClassValue} cannot hold null. */
+    private static final Conversion<?, RuntimeException> NONE = value -> {
+        throw new IllegalStateException("BUG: Converted unsupported type: " + value);
+    };
+    private static final ClassValue<Conversion<?, ?>> IMPLICIT
+            = new ClassValue<Conversion<?, ?>>() {
+        @Override
+        protected Conversion<?, ?> computeValue(final Class<?> type) {
+            final Conversion<?, ?> conversion = implicitFor(type);
+            return null == conversion ? NONE : conversion;
+        }
+    };
+    private static final Map<Class<?>, CharSequenceConversion<?, ?>> IN_PLACE
+            = ImmutableMap.<Class<?>, CharSequenceConversion<?, ?>>builder().
+            put(Integer.class, (CharSequenceConversion<Integer, RuntimeException>)
+                    CharSequenceParsers::parseInt).
+            put(Long.class, (CharSequenceConversion<Long, RuntimeException>)
+                    CharSequenceParsers::parseLong).
+            put(Double.class, (CharSequenceConversion<Double, RuntimeException>)
+                    CharSequenceParsers::parseDouble).
+            put(Instant.class, (CharSequenceConversion<Instant, RuntimeException>)
+                    CharSequenceParsers::parseInstant).
+            put(LocalDate.class, (CharSequenceConversion<LocalDate, RuntimeException>)
+                    CharSequenceParsers::parseLocalDate).
+            put(UUID.class, (CharSequenceConversion<UUID, RuntimeException>)
+                    CharSequenceParsers::parseUuid).
+            build();
+    private static final Map<TypeToken<?>, Conversion<?, ?>> DEFAULTS = defaults();
+    private static final Converter DEFAULT = new Converter(DEFAULTS, true);
+
+    private final AtomicReference<Map<TypeToken<?>, Conversion<?, ?>>> conversions;
+    private final boolean frozen;
+
+    /** Creates a new modifiable {@code Converter} with the default registered conversions. */
+    public Converter() {
+        this(DEFAULTS, false);
+    }
+
+    private Converter(final Map<TypeToken<?>, Conversion<?, ?>> conversions,
+            final boolean frozen) {
+        this.conversions = new AtomicReference<>(conversions);
+        this.frozen = frozen;
+    }
+
+    /**
+     * Gets the shared read-only converter with the default registered conversions.  It is cheaper
+     * than creating a new converter per use or per thread.
+     *
+     * @return the default converter, never missing
+     */
+    @Nonnull
+    public static Converter defaultConverter() {
+        return DEFAULT;
+    }
 
-    {
+    /**
+     * Creates a new {@code Builder} for a read-only converter, starting with the default registered
+     * conversions.
+     *
+     * @return the new builder, never missing
+     */
+    @Nonnull
+    public static Builder builder() {
+        return new Builder(DEFAULTS);
+    }
+
+    private static Map<TypeToken<?>, Conversion<?, ?>> defaults() {
+        final ClassLoader loader = Converter.class.getClassLoader();
         // JDK classes without standardly named String factory methods or String constructors
-        register(Class.class, Class::forName);
-        register(InetAddress.class, InetAddress::getByName);
-        register(InetSocketAddress.class, value -> {
-            final HostAndPort parsed = HostAndPort.fromString(value).requireBracketsForIPv6();
-            return createUnresolved(parsed.getHostText(), parsed.getPort());
-        });
-        register(Path.class, Paths::get);
-        register(Pattern.class, Pattern::compile);
-        register(Resource.class,
-                value -> new DefaultResourceLoader(getClass().getClassLoader()).getResource(value));
-        register(new TypeToken<List<Resource>>() {
-        }, value -> asList(new PathMatchingResourcePatternResolver(getClass().getClassLoader())
-                .getResources(value)));
-        register(ResourceBundle.class, ResourceBundle::getBundle);
-        register(TimeZone.class, TimeZone::getTimeZone);
-        register(URI.class, URI::create);
+        return new Builder(ImmutableMap.of()).
+                register(Class.class, Class::forName).
+                register(InetAddress.class, InetAddress::getByName).
+                register(InetSocketAddress.class, value -> {
+                    final HostAndPort parsed = HostAndPort.fromString(value)
+                            .requireBracketsForIPv6();
+                    return createUnresolved(parsed.getHostText(), parsed.getPort());
+                }).
+                register(Path.class, Paths::get).
+                register(Pattern.class, Pattern::compile).
+                register(Resource.class,
+                        value -> new DefaultResourceLoader(loader).getResource(value)).
+                register(new TypeToken<List<Resource>>() {
+                }, value -> asList(
+                        new PathMatchingResourcePatternResolver(loader).getResources(value))).
+                register(ResourceBundle.class, ResourceBundle::getBundle).
+                register(TimeZone.class, TimeZone::getTimeZone).
+                register(URI.class, URI::create).
+                snapshot();
     }
 
     /**
@@ -115,6 +210,7 @@ public final class Converter {
      * @param <T> the conversion type
      *
      * @throws DuplicateConversion if the conversion is already registered
+     * @throws UnsupportedOperationException if this converter is read-only
      */
     public <T> void register(@Nonnull final Class<T> type, @Nonnull final Conversion<T, ?> factory)
             throws DuplicateConversion {
@@ -129,12 +225,19 @@ public final class Converter {
      * @param <T> the conversion type
      *
      * @throws DuplicateConversion if the conversion is already registered
+     * @throws UnsupportedOperationException if this converter is read-only
      */
     public <T> void register(@Nonnull final TypeToken<T> type,
             @Nonnull final Conversion<T, ?> factory)
             throws DuplicateConversion {
-        if (null != conversions.putIfAbsent(type, factory))
-            throw new DuplicateConversion(type);
+        if (frozen)
+            throw new UnsupportedOperationException("Read-only converter");
+        Map<TypeToken<?>, Conversion<?, ?>> current;
+        do {
+            current = conversions.get();
+            if (current.containsKey(type))
+                throw new DuplicateConversion(type);
+        } while (!conversions.compareAndSet(current, with(current, type, factory)));
     }
 
     /**
@@ -143,11 +246,47 @@ public final class Converter {
      * <p>
      * This method is a convenience and a caution for surprising legacy date parsing.  Better is to
      * use {@link java.time} classes.
+     * <p>
+     * The <var>pattern</var> is compiled once as a {@link DateTimeFormatter} pattern, so parsing is
+     * strict rather than lenient, and missing zones are the system default.  Fixed-width ISO
+     * patterns such as {@code yyyy-MM-dd} parse without the general formatter.
+     * <p>
+     * <strong>NB</strong> &mdash; Pattern letters are those of {@code DateTimeFormatter}, not
+     * {@code SimpleDateFormat}, and some mean something else or parse differently: {@code u} is
+     * the year, not the day number of the week; {@code yy} reads years 2000 to 2099 rather than
+     * within 80 years before or 20 after now; {@code Y} is the week-based year, which does not
+     * combine with month and day into a date; {@code Z} and {@code X} accept only offsets, not
+     * time zone names such as {@code PST}; and {@code a} matches am/pm text case-sensitively.
+     * Check patterns written for {@code SimpleDateFormat} before registering them.
      *
      * @param pattern the date format pattern, never missing
+     *
+     * @throws IllegalArgumentException if <var>pattern</var> is invalid
+     * @see #registerDate(Class, String, TemporalQuery)
      */
     public void registerDate(@Nonnull final String pattern) {
-        register(Date.class, value -> new SimpleDateFormat(pattern).parse(value));
+        register(Date.class, DateConversions.legacy(pattern));
+    }
+
+    /**
+     * Registers a date format pattern for a {@code java.time} type, for example, {@code
+     * registerDate(LocalDate.class, "dd.MM.yyyy", LocalDate::from)}.  The <var>pattern</var> is
+     * compiled once as a {@link DateTimeFormatter} pattern, and fixed-width ISO patterns such as
+     * {@code yyyy-MM-dd} parse without the general formatter.  See {@link #registerDate(String)}
+     * for pattern letters differing from {@code SimpleDateFormat}.
+     *
+     * @param type the class token, never missing
+     * @param pattern the date format pattern, never missing
+     * @param query the query obtaining <var>type</var> from the parsed value, never missing
+     * @param <T> the conversion type
+     *
+     * @throws IllegalArgumentException if <var>pattern</var> is invalid
+     * @throws DuplicateConversion if the conversion is already registered
+     */
+    public <T extends TemporalAccessor> void registerDate(@Nonnull final Class<T> type,
+            @Nonnull final String pattern, @Nonnull final TemporalQuery<T> query)
+            throws DuplicateConversion {
+        register(type, DateConversions.temporal(pattern, query));
     }
 
     /**
@@ -180,17 +319,239 @@ public final class Converter {
      *
      * @throws Exception if conversion fails
      */
-    @SuppressWarnings("unchecked")
     @Nonnull
     public <T> T convert(@Nonnull final TypeToken<T> type, @Nonnull final String value)
             throws Exception {
+        return conversionFor(type).convert(value);
+    }
+
+    /**
+     * Resolves the conversion for <var>type</var> without converting.  Use this to apply the same
+     * conversion to many values.  Registered conversions take precedence over implicit ones.
+     *
+     * @param type the target type, never missing
+     * @param <T> the conversion type
+     *
+     * @return the conversion, never missing
+     *
+     * @throws UnsupportedConversion if there is no conversion for <var>type</var>
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public <T> Conversion<T, ?> conversionFor(@Nonnull final TypeToken<T> type)
+            throws UnsupportedConversion {
         final Class<? super T> rawType = type.getRawType();
-        return String.class == rawType ? (T) value : factoryFor(type).convert(value);
+        if (String.class == rawType)
+            return (Conversion<T, ?>) IDENTITY;
+        final Conversion<?, ?> registered = conversions.get().get(type);
+        if (null != registered)
+            return (Conversion<T, ?>) registered;
+        final Conversion<?, ?> implicit = IMPLICIT.get(rawType);
+        if (NONE == implicit)
+            throw new UnsupportedConversion(type);
+        return (Conversion<T, ?>) implicit;
+    }
+
+    /**
+     * Converts <var>length</var> characters of <var>buffer</var> starting at <var>offset</var>
+     * into an instance of <var>type</var>.  Prefer {@link #charSequenceConversionFor(TypeToken)}
+     * when converting many values.
+     *
+     * @param type the target type, never missing
+     * @param buffer the characters to convert, never missing
+     * @param offset the index of the first character
+     * @param length the count of characters
+     * @param <T> the conversion type
+     *
+     * @return the converted instance of <var>type</var>, never missing
+     *
+     * @throws Exception if conversion fails
+     */
+    @Nonnull
+    public <T> T convert(@Nonnull final Class<T> type, @Nonnull final CharSequence buffer,
+            final int offset, final int length)
+            throws Exception {
+        return charSequenceConversionFor(TypeToken.of(wrap(type))).convert(buffer, offset, length);
+    }
+
+    /**
+     * Resolves the conversion of character buffer regions for <var>type</var>.  Types with in
+     * place parsers in {@link CharSequenceParsers} do not copy the region unless a conversion is
+     * registered for them, other types copy the region into a string for {@link
+     * #conversionFor(TypeToken) their conversion}.
+     *
+     * @param type the target type, never missing
+     * @param <T> the conversion type
+     *
+     * @return the conversion, never missing
+     *
+     * @throws UnsupportedConversion if there is no conversion for <var>type</var>
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public <T> CharSequenceConversion<T, ?> charSequenceConversionFor(
+            @Nonnull final TypeToken<T> type)
+            throws UnsupportedConversion {
+        if (!conversions.get().containsKey(type)) {
+            final CharSequenceConversion<?, ?> inPlace = IN_PLACE.get(type.getRawType());
+            if (null != inPlace)
+                return (CharSequenceConversion<T, ?>) inPlace;
+        }
+        final Conversion<T, ?> conversion = conversionFor(type);
+        return (buffer, offset, length) -> conversion
+                .convert(CharSequenceParsers.string(buffer, offset, length));
+    }
+
+    /**
+     * Converts each of <var>values</var> into an instance of <var>type</var>, resolving the
+     * conversion once for the whole column.
+     *
+     * @param type the target type, never missing
+     * @param values the strings to convert, never missing
+     * @param <T> the conversion type
+     *
+     * @return the unmodifiable converted instances in the order of <var>values</var>, never
+     * missing
+     *
+     * @throws Exception if any conversion fails
+     */
+    @Nonnull
+    public <T> List<T> convertAll(@Nonnull final TypeToken<T> type,
+            @Nonnull final List<String> values)
+            throws Exception {
+        return all(type, values, null);
+    }
+
+    /**
+     * Converts each of <var>values</var> into an instance of <var>type</var>, splitting large
+     * columns across <var>pool</var>.
+     *
+     * @param pool the fork-join pool, never missing
+     *
+     * @see #convertAll(TypeToken, List)
+     */
+    @Nonnull
+    public <T> List<T> convertAll(@Nonnull final TypeToken<T> type,
+            @Nonnull final List<String> values, @Nonnull final ForkJoinPool pool)
+            throws Exception {
+        return all(type, values, pool);
+    }
+
+    /**
+     * Converts each of <var>in</var> into an instance of <var>type</var> at the same index of
+     * <var>out</var>, resolving the conversion once for the whole column.
+     *
+     * @param type the target type, never missing
+     * @param in the strings to convert, never missing
+     * @param out the converted instances, never missing
+     * @param <T> the conversion type
+     *
+     * @return <var>out</var>, never missing
+     *
+     * @throws IllegalArgumentException if <var>out</var> is shorter than <var>in</var>
+     * @throws Exception if any conversion fails
+     */
+    @Nonnull
+    public <T> T[] convertInto(@Nonnull final Class<T> type, @Nonnull final String[] in,
+            @Nonnull final T[] out)
+            throws Exception {
+        return into(type, in, out, null);
+    }
+
+    /**
+     * Converts each of <var>in</var> into an instance of <var>type</var>, splitting large
+     * columns across <var>pool</var>.
+     *
+     * @param pool the fork-join pool, never missing
+     *
+     * @see #convertInto(Class, String[], Object[])
+     */
+    @Nonnull
+    public <T> T[] convertInto(@Nonnull final Class<T> type, @Nonnull final String[] in,
+            @Nonnull final T[] out, @Nonnull final ForkJoinPool pool)
+            throws Exception {
+        return into(type, in, out, pool);
+    }
+
+    /**
+     * Converts each of <var>in</var> into an {@code int} without boxing, unless a conversion
+     * is registered for {@code Integer}.
+     *
+     * @see #convertInto(Class, String[], Object[])
+     */
+    @Nonnull
+    public int[] convertInto(@Nonnull final String[] in, @Nonnull final int[] out)
+            throws Exception {
+        return into(in, out, null);
+    }
+
+    /**
+     * Converts each of <var>in</var> into an {@code int}, splitting large columns across
+     * <var>pool</var>.
+     *
+     * @see #convertInto(String[], int[])
+     */
+    @Nonnull
+    public int[] convertInto(@Nonnull final String[] in, @Nonnull final int[] out,
+            @Nonnull final ForkJoinPool pool)
+            throws Exception {
+        return into(in, out, pool);
+    }
+
+    /**
+     * Converts each of <var>in</var> into a {@code long} without boxing, unless a conversion is
+     * registered for {@code Long}.
+     *
+     * @see #convertInto(Class, String[], Object[])
+     */
+    @Nonnull
+    public long[] convertInto(@Nonnull final String[] in, @Nonnull final long[] out)
+            throws Exception {
+        return into(in, out, null);
+    }
+
+    /**
+     * Converts each of <var>in</var> into a {@code long}, splitting large columns across
+     * <var>pool</var>.
+     *
+     * @see #convertInto(String[], long[])
+     */
+    @Nonnull
+    public long[] convertInto(@Nonnull final String[] in, @Nonnull final long[] out,
+            @Nonnull final ForkJoinPool pool)
+            throws Exception {
+        return into(in, out, pool);
     }
 
     /**
-     * Get an unmodifiable view of registered conversions.  Supported conversions are those implicit
-     * and those registered; registered takes precedence.
+     * Converts each of <var>in</var> into a {@code double} without boxing, unless a conversion
+     * is registered for {@code Double}.
+     *
+     * @see #convertInto(Class, String[], Object[])
+     */
+    @Nonnull
+    public double[] convertInto(@Nonnull final String[] in, @Nonnull final double[] out)
+            throws Exception {
+        return into(in, out, null);
+    }
+
+    /**
+     * Converts each of <var>in</var> into a {@code double}, splitting large columns across
+     * <var>pool</var>.
+     *
+     * @see #convertInto(String[], double[])
+     */
+    @Nonnull
+    public double[] convertInto(@Nonnull final String[] in, @Nonnull final double[] out,
+            @Nonnull final ForkJoinPool pool)
+            throws Exception {
+        return into(in, out, pool);
+    }
+
+    /**
+     * Get an unmodifiable snapshot of registered conversions.  Supported conversions are those
+     * implicit and those registered; registered takes precedence.  Later registrations do not
+     * change the snapshot.
      *
      * @return the set of registered conversion types, never missing
      *
@@ -198,32 +559,96 @@ public final class Converter {
      */
     @Nonnull
     public Set<TypeToken<?>> registered() {
-        return unmodifiableSet(conversions.keySet());
+        return conversions.get().keySet();
     }
 
-    private <T, E extends Exception> Conversion<T, E> factoryFor(final TypeToken<T> type) {
-        // Java 8 generics inference is brilliant but not perfect, requires the ugly cast
-        return asList((Function<TypeToken<T>, Conversion<T, E>>) this::getRegistered,
-                Converter::parse, Converter::valueOf, Converter::of, Converter::ctor).stream().
-                map(f -> f.apply(type)).
-                filter(conversion -> null != conversion).
-                findFirst().
-                orElseThrow(() -> new UnsupportedConversion(type));
+    private static Map<TypeToken<?>, Conversion<?, ?>> with(
+            final Map<TypeToken<?>, Conversion<?, ?>> conversions, final TypeToken<?> type,
+            final Conversion<?, ?> factory) {
+        return ImmutableMap.<TypeToken<?>, Conversion<?, ?>>builder().
+                putAll(conversions).
+                put(type, factory).
+                build();
     }
 
     @SuppressWarnings("unchecked")
-    private <T, E extends Exception> Conversion<T, E> getRegistered(final TypeToken<T> type) {
-        return (Conversion<T, E>) conversions.get(type);
+    private <T> List<T> all(final TypeToken<T> type, final List<String> values,
+            final ForkJoinPool pool)
+            throws Exception {
+        final Conversion<T, ?> conversion = conversionFor(type);
+        final String[] in = values.toArray(new String[values.size()]);
+        final Object[] out = new Object[in.length];
+        Column.convert(in.length, pool, i -> out[i] = conversion.convert(in[i]));
+        return unmodifiableList(asList((T[]) out));
+    }
+
+    private <T> T[] into(final Class<T> type, final String[] in, final T[] out,
+            final ForkJoinPool pool)
+            throws Exception {
+        fits(in, out.length);
+        final Conversion<T, ?> conversion = conversionFor(TypeToken.of(wrap(type)));
+        Column.convert(in.length, pool, i -> out[i] = conversion.convert(in[i]));
+        return out;
     }
 
-    private static <T, E extends Exception> Conversion<T, E> parse(final TypeToken<T> type)
-            throws NoSuchMethodError {
+    private int[] into(final String[] in, final int[] out, final ForkJoinPool pool)
+            throws Exception {
+        fits(in, out.length);
+        final Conversion<Integer, ?> registered = registeredFor(Integer.class);
+        Column.convert(in.length, pool, null == registered
+                ? i -> out[i] = parseInt(in[i])
+                : i -> out[i] = registered.convert(in[i]));
+        return out;
+    }
+
+    private long[] into(final String[] in, final long[] out, final ForkJoinPool pool)
+            throws Exception {
+        fits(in, out.length);
+        final Conversion<Long, ?> registered = registeredFor(Long.class);
+        Column.convert(in.length, pool, null == registered
+                ? i -> out[i] = parseLong(in[i])
+                : i -> out[i] = registered.convert(in[i]));
+        return out;
+    }
+
+    private double[] into(final String[] in, final double[] out, final ForkJoinPool pool)
+            throws Exception {
+        fits(in, out.length);
+        final Conversion<Double, ?> registered = registeredFor(Double.class);
+        Column.convert(in.length, pool, null == registered
+                ? i -> out[i] = parseDouble(in[i])
+                : i -> out[i] = registered.convert(in[i]));
+        return out;
+    }
+
+    private static void fits(final String[] in, final int length) {
+        if (length < in.length)
+            throw new IllegalArgumentException(
+                    format("Output length %d shorter than input length %d", length,
+                            in.length));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Conversion<T, ?> registeredFor(final Class<T> type) {
+        return (Conversion<T, ?>) conversions.get().get(TypeToken.of(type));
+    }
+
+    private static Conversion<?, ?> implicitFor(final Class<?> type) {
+        for (final Function<Class<?>, Conversion<?, ?>> lookup : asList(
+                (Function<Class<?>, Conversion<?, ?>>) Converter::parse, Converter::valueOf,
+                Converter::of, Converter::ctor)) {
+            final Conversion<?, ?> conversion = lookup.apply(type);
+            if (null != conversion)
+                return conversion;
+        }
+        return null;
+    }
+
+    private static Conversion<?, ?> parse(final Class<?> type) {
         return method(type, "parse");
     }
 
-    private static <T, E extends Exception> Conversion<T, E> method(final TypeToken<T> type,
-            final String name) {
-        final Class<?> raw = type.getRawType();
+    private static Conversion<?, ?> method(final Class<?> raw, final String name) {
         // TODO: Parameter type must match exactly
         try {
             return thunk(lookup().findStatic(raw, name, methodType(raw, String.class)));
@@ -238,10 +663,12 @@ public final class Converter {
 
     @SuppressWarnings("unchecked")
     private static <T, E extends Exception> Conversion<T, E> thunk(final MethodHandle handle) {
+        // Adapt once here so each call is an exact invocation without per-call type checks
+        final MethodHandle exact = handle.asType(GENERIC);
         return value -> {
             try {
-                return (T) handle.invoke(value);
-            } catch(final Error | RuntimeException e) {
+                return (T) exact.invokeExact(value);
+            } catch (final Error | RuntimeException e) {
                 throw e;
             } catch (final Throwable t) {
                 throw (E) t;
@@ -249,16 +676,15 @@ public final class Converter {
         };
     }
 
-    private static <T, E extends Exception> Conversion<T, E> valueOf(final TypeToken<T> type) {
+    private static Conversion<?, ?> valueOf(final Class<?> type) {
         return method(type, "valueOf");
     }
 
-    private static <T, E extends Exception> Conversion<T, E> of(final TypeToken<T> type) {
+    private static Conversion<?, ?> of(final Class<?> type) {
         return method(type, "of");
     }
 
-    private static <T, E extends Exception> Conversion<T, E> ctor(final TypeToken<T> type) {
-        final Class<?> raw = type.getRawType();
+    private static Conversion<?, ?> ctor(final Class<?> raw) {
         // TODO: Parameter type must match exactly
         try {
             return thunk(lookup().findConstructor(raw, STRING_CTOR));
@@ -292,6 +718,159 @@ public final class Converter {
                 throws E;
     }
 
+    /**
+     * Converts a region of a character buffer into a typed object.
+     *
+     * @param <T> the converted type
+     * @param <E> the exception type on failed converstion, use {@code RuntimeException} if none
+     * @see CharSequenceParsers
+     */
+    @FunctionalInterface
+    public interface CharSequenceConversion<T, E extends Exception> {
+        /**
+         * Converts <var>length</var> characters of <var>buffer</var> starting at
+         * <var>offset</var> into a typed object.
+         *
+         * @param buffer the characters, never missing
+         * @param offset the index of the first character
+         * @param length the count of characters
+         *
+         * @return the typed object
+         *
+         * @throws E if conversion fails
+         */
+        T convert(@Nonnull final CharSequence buffer, final int offset, final int length)
+                throws E;
+    }
+
+    /**
+     * Builds a read-only {@code Converter}.  The built converter never changes, so conversions read
+     * its registrations without synchronization.
+     */
+    public static final class Builder {
+        private final Map<TypeToken<?>, Conversion<?, ?>> conversions;
+
+        private Builder(final Map<TypeToken<?>, Conversion<?, ?>> conversions) {
+            this.conversions = new LinkedHashMap<>(conversions);
+        }
+
+        /**
+         * Registers an object conversion.
+         *
+         * @see Converter#register(Class, Conversion)
+         */
+        @Nonnull
+        public <T> Builder register(@Nonnull final Class<T> type,
+                @Nonnull final Conversion<T, ?> factory)
+                throws DuplicateConversion {
+            return register(TypeToken.of(type), factory);
+        }
+
+        /**
+         * Registers an object conversion.
+         *
+         * @see Converter#register(TypeToken, Conversion)
+         */
+        @Nonnull
+        public <T> Builder register(@Nonnull final TypeToken<T> type,
+                @Nonnull final Conversion<T, ?> factory)
+                throws DuplicateConversion {
+            if (null != conversions.putIfAbsent(type, factory))
+                throw new DuplicateConversion(type);
+            return this;
+        }
+
+        /**
+         * Registers a date format pattern for legacy {@code java.util.Date}.
+         *
+         * @see Converter#registerDate(String)
+         */
+        @Nonnull
+        public Builder registerDate(@Nonnull final String pattern) {
+            return register(Date.class, DateConversions.legacy(pattern));
+        }
+
+        /**
+         * Registers a date format pattern for a {@code java.time} type.
+         *
+         * @see Converter#registerDate(Class, String, TemporalQuery)
+         */
+        @Nonnull
+        public <T extends TemporalAccessor> Builder registerDate(@Nonnull final Class<T> type,
+                @Nonnull final String pattern, @Nonnull final TemporalQuery<T> query)
+                throws DuplicateConversion {
+            return register(type, DateConversions.temporal(pattern, query));
+        }
+
+        /** Creates a new read-only converter with the registered conversions. */
+        @Nonnull
+        public Converter build() {
+            return new Converter(snapshot(), true);
+        }
+
+        private Map<TypeToken<?>, Conversion<?, ?>> snapshot() {
+            return ImmutableMap.copyOf(conversions);
+        }
+    }
+
+    /**
+     * Converts the cells of a column, in the caller or, for large columns, as fork-join tasks.
+     * The first failure stops further conversions and is rethrown to the caller.
+     */
+    private static final class Column
+            extends RecursiveAction {
+        private static final int CHUNK = 1024;
+
+        private final Cell cell;
+        private final int from;
+        private final int to;
+        private final AtomicReference<Exception> failure;
+
+        private Column(final Cell cell, final int from, final int to,
+                final AtomicReference<Exception> failure) {
+            this.cell = cell;
+            this.from = from;
+            this.to = to;
+            this.failure = failure;
+        }
+
+        static void convert(final int length, final ForkJoinPool pool, final Cell cell)
+                throws Exception {
+            if (null == pool || length <= CHUNK) {
+                for (int i = 0; i < length; ++i)
+                    cell.convert(i);
+                return;
+            }
+            final AtomicReference<Exception> failure = new AtomicReference<>();
+            pool.invoke(new Column(cell, 0, length, failure));
+            final Exception e = failure.get();
+            if (null != e)
+                throw e;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK) {
+                try {
+                    for (int i = from; i < to && null == failure.get(); ++i)
+                        cell.convert(i);
+                } catch (final Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(new Column(cell, from, middle, failure),
+                    new Column(cell, middle, to, failure));
+        }
+
+        @FunctionalInterface
+        private interface Cell {
+            void convert(final int i)
+                    throws Exception;
+        }
+    }
+
     /** @todo Documentation */
     public static class DuplicateConversion
             extends IllegalArgumentException {
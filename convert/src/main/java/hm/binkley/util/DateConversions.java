@@ -0,0 +1,180 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+
+package hm.binkley.util;
+
+import hm.binkley.util.Converter.Conversion;
+
+import javax.annotation.Nonnull;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.Date;
+
+import static java.time.LocalTime.MIDNIGHT;
+import static java.time.ZoneId.systemDefault;
+import static java.time.temporal.ChronoField.INSTANT_SECONDS;
+import static java.time.temporal.TemporalQueries.localDate;
+import static java.time.temporal.TemporalQueries.localTime;
+import static java.time.temporal.TemporalQueries.zone;
+
+/**
+ * {@code DateConversions} creates date conversions for {@link Converter} from date format
+ * patterns.  Each conversion compiles its pattern once into a {@link DateTimeFormatter}, which,
+ * unlike {@code SimpleDateFormat}, is safe to share between threads.  Pattern letters are
+ * therefore those of {@code DateTimeFormatter}; see {@link Converter#registerDate(String)}.
+ * <p>
+ * Common fixed-width ISO patterns, for example {@code yyyy-MM-dd}, parse digits directly without
+ * the general formatter.  Values the fast path cannot vouch for, such as a day past the 28th which
+ * the formatter may resolve, fall back to the formatter so results are the same either way.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+final class DateConversions {
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    private DateConversions() {
+    }
+
+    /**
+     * Creates a conversion to legacy {@code java.util.Date}.  Missing dates default to the epoch,
+     * missing times to midnight, and missing zones to the system default, as for {@code
+     * SimpleDateFormat}.
+     */
+    @Nonnull
+    static Conversion<Date, DateTimeParseException> legacy(@Nonnull final String pattern) {
+        final Conversion<TemporalAccessor, DateTimeParseException> conversion = temporal(pattern,
+                parsed -> parsed);
+        return value -> toDate(conversion.convert(value));
+    }
+
+    /** Creates a conversion to a {@code java.time} type with the given <var>query</var>. */
+    @Nonnull
+    static <T> Conversion<T, DateTimeParseException> temporal(@Nonnull final String pattern,
+            @Nonnull final TemporalQuery<T> query) {
+        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        final FixedWidth fast = FixedWidth.of(pattern);
+        if (null == fast)
+            return value -> formatter.parse(value, query);
+        return value -> {
+            final TemporalAccessor parsed = fast.parse(value);
+            if (null != parsed)
+                try {
+                    return query.queryFrom(parsed);
+                } catch (final DateTimeException ignored) {
+                    // Let the formatter report the failure
+                }
+            return formatter.parse(value, query);
+        };
+    }
+
+    private static Date toDate(final TemporalAccessor parsed) {
+        if (parsed.isSupported(INSTANT_SECONDS))
+            return Date.from(Instant.from(parsed));
+        final LocalDate date = parsed.query(localDate());
+        final LocalTime time = parsed.query(localTime());
+        final ZoneId zone = parsed.query(zone());
+        return Date.from(ZonedDateTime.of(null == date ? EPOCH : date,
+                null == time ? MIDNIGHT : time, null == zone ? systemDefault() : zone)
+                .toInstant());
+    }
+
+    /**
+     * Fixed-width ISO patterns parsed without {@code DateTimeFormatter}.  In the shapes {@code #}
+     * is any ASCII digit and other characters match exactly.
+     */
+    private enum FixedWidth {
+        ISO_DATE("yyyy-MM-dd", "####-##-##", 0, 5, 8),
+        BASIC_ISO_DATE("yyyyMMdd", "########", 0, 4, 6),
+        ISO_DATE_TIME("yyyy-MM-dd'T'HH:mm:ss", "####-##-##T##:##:##", 0, 5, 8, 11, 14, 17),
+        SQL_DATE_TIME("yyyy-MM-dd HH:mm:ss", "####-##-## ##:##:##", 0, 5, 8, 11, 14, 17);
+
+        private final String pattern;
+        private final String shape;
+        private final int[] offsets;
+
+        FixedWidth(final String pattern, final String shape, final int... offsets) {
+            this.pattern = pattern;
+            this.shape = shape;
+            this.offsets = offsets;
+        }
+
+        static FixedWidth of(final String pattern) {
+            for (final FixedWidth fixed : values())
+                if (fixed.pattern.equals(pattern))
+                    return fixed;
+            return null;
+        }
+
+        /**
+         * Parses <var>value</var> into a {@code LocalDate} or {@code LocalDateTime}, or returns
+         * {@code null} if the formatter should decide.
+         */
+        TemporalAccessor parse(final CharSequence value) {
+            final int length = shape.length();
+            if (length != value.length())
+                return null;
+            for (int i = 0; i < length; ++i) {
+                final char expected = shape.charAt(i);
+                final char actual = value.charAt(i);
+                if ('#' == expected ? actual < '0' || '9' < actual : expected != actual)
+                    return null;
+            }
+
+            final int year = digits(value, offsets[0], 4);
+            final int month = digits(value, offsets[1], 2);
+            final int day = digits(value, offsets[2], 2);
+            // Leave year zero and days the formatter might resolve differently to the formatter
+            if (0 == year || month < 1 || 12 < month || day < 1 || 28 < day)
+                return null;
+            if (3 == offsets.length)
+                return LocalDate.of(year, month, day);
+
+            final int hour = digits(value, offsets[3], 2);
+            final int minute = digits(value, offsets[4], 2);
+            final int second = digits(value, offsets[5], 2);
+            if (23 < hour || 59 < minute || 59 < second)
+                return null;
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        }
+
+        private static int digits(final CharSequence value, final int offset, final int count) {
+            int n = 0;
+            for (int i = offset; i < offset + count; ++i)
+                n = n * 10 + value.charAt(i) - '0';
+            return n;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package hm.binkley.util;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.UUID;
+
+import static hm.binkley.util.CharSequenceParsers.parseDouble;
+import static hm.binkley.util.CharSequenceParsers.parseInstant;
+import static hm.binkley.util.CharSequenceParsers.parseInt;
+import static hm.binkley.util.CharSequenceParsers.parseLocalDate;
+import static hm.binkley.util.CharSequenceParsers.parseLong;
+import static hm.binkley.util.CharSequenceParsers.parseUuid;
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code CharSequenceParsersTest} tests {@link CharSequenceParsers}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public class CharSequenceParsersTest {
+    @Test
+    public void shouldParseIntLikeJdk() {
+        for (final String value : asList("0", "-0", "+7", "123", "-2147483648", "2147483647",
+                "0000000000012"))
+            assertThat(parseInt(framed(value), 2, value.length()),
+                    is(equalTo(Integer.parseInt(value))));
+    }
+
+    @Test
+    public void shouldParseLongLikeJdk() {
+        final Random random = new Random(1L);
+        for (int i = 0; i < 1_000; ++i) {
+            final String value = String.valueOf(random.nextLong() >> random.nextInt(64));
+            assertThat(parseLong(framed(value), 2, value.length()),
+                    is(equalTo(Long.parseLong(value))));
+        }
+    }
+
+    @Test
+    public void shouldParseDoubleLikeJdk() {
+        for (final String value : asList("0", "-0.0", "1.5", ".25", "3.", "-1e10", "2.5E-3",
+                "123456789012345", "1234567890123456789", "1e300", "4.9e-324", "NaN",
+                "-Infinity", "0x1p3", "1d", "0.1", "0.3", "9007199254740993"))
+            assertThat(value, parseDouble(framed(value), 2, value.length()),
+                    is(equalTo(Double.parseDouble(value))));
+    }
+
+    @Test
+    public void shouldParseRandomDoubleLikeJdk() {
+        final Random random = new Random(1L);
+        for (int i = 0; i < 10_000; ++i) {
+            final String value = random.nextInt(1_000_000) + "." + random.nextInt(1_000)
+                    + "e" + (random.nextInt(40) - 20);
+            assertThat(value, parseDouble(framed(value), 2, value.length()),
+                    is(equalTo(Double.parseDouble(value))));
+        }
+    }
+
+    @Test
+    public void shouldParseInstantLikeJdk() {
+        for (final String value : asList("2001-02-03T04:05:06Z", "2000-02-29T23:59:59.5Z",
+                "1969-12-31T23:59:59.123456789Z", "0001-01-01T00:00:00Z",
+                "2001-02-03T04:05:06.000Z"))
+            assertThat(parseInstant(framed(value), 2, value.length()),
+                    is(equalTo(Instant.parse(value))));
+    }
+
+    @Test
+    public void shouldParseLocalDateLikeJdk() {
+        for (final String value : asList("2001-02-03", "2000-02-29", "+12345-01-01"))
+            assertThat(parseLocalDate(framed(value), 2, value.length()),
+                    is(equalTo(LocalDate.parse(value))));
+    }
+
+    @Test
+    public void shouldParseUuidLikeJdk() {
+        for (int i = 0; i < 100; ++i) {
+            final String value = UUID.randomUUID().toString();
+            assertThat(parseUuid(framed(value), 2, value.length()),
+                    is(equalTo(UUID.fromString(value))));
+        }
+        final String upper = "123E4567-E89B-12D3-A456-426655440000";
+        assertThat(parseUuid(framed(upper), 2, upper.length()),
+                is(equalTo(UUID.fromString(upper))));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void shouldThrowWhenIntOverflows() {
+        parseInt("2147483648", 0, 10);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void shouldThrowWhenIntEmpty() {
+        parseInt("", 0, 0);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void shouldThrowWhenLongInvalid() {
+        parseLong("12a", 0, 3);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void shouldThrowWhenDoubleInvalid() {
+        parseDouble("1e", 0, 2);
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void shouldThrowWhenInstantInvalid() {
+        parseInstant("2001-02-30T04:05:06Z", 0, 20);
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void shouldThrowWhenLocalDateInvalid() {
+        parseLocalDate("2001-13-03", 0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenUuidInvalid() {
+        parseUuid("123e4567-e89b-12d3-a456-42665544000g", 0, 36);
+    }
+
+    /** Surrounds <var>value</var> with other characters to check offsets are honored. */
+    private static CharSequence framed(final String value) {
+        return CharBuffer.wrap("ab" + value + "yz");
+    }
+}
@@ -4,24 +4,40 @@ import com.google.common.reflect.TypeToken;
 import hm.binkley.util.Converter.DuplicateConversion;
 import hm.binkley.util.Converter.UnsupportedConversion;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Test;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 
 import java.io.File;
+import java.nio.CharBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetTime;
 import java.time.Year;
+import java.time.YearMonth;
 import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.lang.String.format;
+import static java.time.ZoneId.systemDefault;
 import static java.time.ZoneOffset.UTC;
+import static java.time.format.DateTimeFormatter.ofPattern;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -94,8 +110,56 @@ public class ConverterTest {
     }
 
     @Test
-    @Ignore("Figure out parsing enough to test legitimately")
-    public void shouldRegisterDate() {
+    public void shouldRegisterDate()
+            throws Exception {
+        converter.registerDate("dd/MM/yyyy HH:mm");
+
+        assertThat(date(LocalDateTime.of(2001, 2, 3, 4, 5)),
+                is(equalTo(converter.convert(Date.class, "03/02/2001 04:05"))));
+    }
+
+    @Test
+    public void shouldRegisterIsoDate()
+            throws Exception {
+        converter.registerDate("yyyy-MM-dd HH:mm:ss");
+
+        assertThat(date(LocalDateTime.of(2001, 2, 3, 4, 5, 6)),
+                is(equalTo(converter.convert(Date.class, "2001-02-03 04:05:06"))));
+    }
+
+    @Test
+    public void shouldRegisterIsoDateWithOffset()
+            throws Exception {
+        converter.registerDate("yyyy-MM-dd'T'HH:mm:ssXXX");
+
+        assertThat(Date.from(Instant.parse("2001-02-03T04:05:06Z")),
+                is(equalTo(converter.convert(Date.class, "2001-02-03T04:05:06Z"))));
+    }
+
+    @Test
+    public void shouldRegisterIsoDateResolvingLikeFormatter()
+            throws Exception {
+        converter.registerDate(LocalDate.class, "yyyy-MM-dd", LocalDate::from);
+
+        assertThat(LocalDate.parse("2001-02-30", ofPattern("yyyy-MM-dd")),
+                is(equalTo(converter.convert(LocalDate.class, "2001-02-30"))));
+    }
+
+    @Test
+    public void shouldRegisterTemporal()
+            throws Exception {
+        converter.registerDate(LocalDate.class, "dd.MM.yyyy", LocalDate::from);
+
+        assertThat(LocalDate.of(2001, 2, 3),
+                is(equalTo(converter.convert(LocalDate.class, "03.02.2001"))));
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void shouldThrowWhenDateInvalid()
+            throws Exception {
+        converter.registerDate("yyyy-MM-dd");
+
+        converter.convert(Date.class, "2001-13-03");
     }
 
     @Test(expected = UnsupportedConversion.class)
@@ -104,6 +168,190 @@ public class ConverterTest {
         converter.convert(Package.class, getClass().getPackage().getName());
     }
 
+    @Test
+    public void shouldResolveImplicitConversionOnce() {
+        assertThat(new Converter().conversionFor(TypeToken.of(Integer.class)),
+                is(sameInstance(converter.conversionFor(TypeToken.of(Integer.class)))));
+    }
+
+    @Test
+    public void shouldPreferRegisteredOverResolvedImplicit()
+            throws Exception {
+        converter.convert(Year.class, "2000");
+        converter.register(Year.class, value -> Year.of(0));
+
+        assertThat(Year.of(0), is(equalTo(converter.convert(Year.class, "2000"))));
+    }
+
+    @Test(expected = UnsupportedConversion.class)
+    public void shouldThrowWhenUnsupportedAgain()
+            throws Exception {
+        try {
+            converter.convert(Package.class, getClass().getPackage().getName());
+        } catch (final UnsupportedConversion ignored) {
+        }
+        converter.convert(Package.class, getClass().getPackage().getName());
+    }
+
+    @Test
+    public void shouldShareDefaultConverter() {
+        assertThat(Converter.defaultConverter(), is(sameInstance(Converter.defaultConverter())));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldThrowWhenRegisteringWithDefaultConverter() {
+        Converter.defaultConverter().register(Year.class, value -> Year.of(0));
+    }
+
+    @Test
+    public void shouldBuild()
+            throws Exception {
+        final Converter built = Converter.builder().
+                register(Year.class, value -> Year.of(0)).
+                build();
+
+        assertThat(Year.of(0), is(equalTo(built.convert(Year.class, "zero"))));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldThrowWhenRegisteringWithBuilt() {
+        Converter.builder().build().register(Year.class, value -> Year.of(0));
+    }
+
+    @Test
+    public void shouldRegisterConcurrently() {
+        final List<Class<?>> types = asList(Year.class, YearMonth.class, MonthDay.class,
+                LocalDate.class, LocalDateTime.class, OffsetTime.class, Instant.class,
+                Duration.class);
+        types.parallelStream().
+                forEach(type -> converter.register(type(type), value -> null));
+
+        assertThat(converter.registered().containsAll(
+                types.stream().map(TypeToken::of).collect(toList())), is(true));
+    }
+
+    @Test
+    public void shouldSnapshotRegistered() {
+        final Set<TypeToken<?>> registered = converter.registered();
+        converter.register(Year.class, value -> Year.of(0));
+
+        assertThat(registered.contains(TypeToken.of(Year.class)), is(false));
+    }
+
+    private static Date date(final LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(systemDefault()).toInstant());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> TypeToken<T> type(final Class<?> type) {
+        return (TypeToken<T>) TypeToken.of(type);
+    }
+
+    @Test
+    public void shouldConvertAll()
+            throws Exception {
+        assertThat(converter.convertAll(TypeToken.of(Integer.class), asList("1", "2", "3")),
+                is(equalTo(asList(1, 2, 3))));
+    }
+
+    @Test
+    public void shouldConvertAllInParallel()
+            throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final List<String> values = range(0, 10_000).
+                    mapToObj(String::valueOf).
+                    collect(toList());
+
+            assertThat(converter.convertAll(TypeToken.of(Integer.class), values, pool),
+                    is(equalTo(range(0, 10_000).boxed().collect(toList()))));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldConvertInto()
+            throws Exception {
+        assertThat(converter.convertInto(Year.class, new String[]{"2001", "2002"}, new Year[2]),
+                is(equalTo(new Year[]{Year.of(2001), Year.of(2002)})));
+    }
+
+    @Test
+    public void shouldConvertIntoInts()
+            throws Exception {
+        assertThat(converter.convertInto(new String[]{"1", "-2"}, new int[2]),
+                is(equalTo(new int[]{1, -2})));
+    }
+
+    @Test
+    public void shouldConvertIntoLongs()
+            throws Exception {
+        assertThat(converter.convertInto(new String[]{"1", "-2"}, new long[2]),
+                is(equalTo(new long[]{1L, -2L})));
+    }
+
+    @Test
+    public void shouldConvertIntoDoubles()
+            throws Exception {
+        assertThat(converter.convertInto(new String[]{"1.5", "-2"}, new double[2]),
+                is(equalTo(new double[]{1.5D, -2.0D})));
+    }
+
+    @Test
+    public void shouldConvertIntoIntsWithRegistered()
+            throws Exception {
+        converter.register(Integer.class, value -> value.length());
+
+        assertThat(converter.convertInto(new String[]{"bob", "alice"}, new int[2]),
+                is(equalTo(new int[]{3, 5})));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void shouldThrowWhenConvertingIntoInParallelFails()
+            throws Exception {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final String[] in = range(0, 10_000).
+                    mapToObj(String::valueOf).
+                    toArray(String[]::new);
+            in[5_000] = "bob";
+
+            converter.convertInto(in, new long[in.length], pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowWhenConvertingIntoShorter()
+            throws Exception {
+        converter.convertInto(new String[]{"1", "2"}, new int[1]);
+    }
+
+    @Test
+    public void shouldConvertCharSequenceInPlace()
+            throws Exception {
+        assertThat(123, is(equalTo(converter.convert(int.class, CharBuffer.wrap("ab123yz"), 2,
+                3))));
+    }
+
+    @Test
+    public void shouldConvertCharSequenceWithString()
+            throws Exception {
+        assertThat(Year.of(2001), is(equalTo(converter.convert(Year.class,
+                CharBuffer.wrap("ab2001yz"), 2, 4))));
+    }
+
+    @Test
+    public void shouldConvertCharSequenceWithRegistered()
+            throws Exception {
+        converter.register(Integer.class, value -> value.length());
+
+        assertThat(3, is(equalTo(converter.convert(Integer.class, CharBuffer.wrap("abbobyz"), 2,
+                3))));
+    }
+
     @Test(expected = DuplicateConversion.class)
     public void shouldThrowWhenDuplicate() {
         converter.register(Path.class, Paths::get);
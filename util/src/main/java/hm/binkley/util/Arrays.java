@@ -30,8 +30,15 @@ package hm.binkley.util;
 import javax.annotation.Nonnull;
 import java.lang.reflect.Array;
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
+import static java.lang.Math.addExact;
+import static java.lang.Math.min;
 import static java.lang.System.arraycopy;
+import static java.util.concurrent.ForkJoinTask.adapt;
+import static java.util.stream.IntStream.range;
 
 /**
  * {@code Arrays} holds simple functions for working with arrays.
@@ -40,6 +47,12 @@ import static java.lang.System.arraycopy;
  * @todo Replace with OSS solution
  */
 public final class Arrays {
+    /**
+     * The number of elements copied by each fork-join task for parallel
+     * catenation.
+     */
+    private static final int CHUNK = 1 << 18;
+
     /**
      * Returns the variadic parameter list as an array, relying on <a
      * href="https://docs.oracle .com/javase/specs/jls/se7/html/jls-15.html#jls-15.12.4.2">the
@@ -98,4 +111,187 @@ public final class Arrays {
         return elements
                 .toArray((U[]) Array.newInstance(type, elements.size()));
     }
+
+    /**
+     * Returns the catenation of <var>arrays</var> in order, sizing the result
+     * once.  The result has the runtime type of the first array.  A single
+     * array is returned as is.
+     *
+     * @param arrays the arrays to catenate, never missing
+     * @param <T> the array component type
+     *
+     * @return the catenated array, never missing
+     */
+    @Nonnull
+    @SafeVarargs
+    @SuppressWarnings("varargs") // Passed on only to be read
+    public static <T> T[] cat(@Nonnull final T[]... arrays) {
+        if (1 == arrays.length)
+            return arrays[0];
+        return catenate(arrays, a -> a.length, allocator(arrays));
+    }
+
+    /**
+     * Returns the catenation of <var>arrays</var> in order, copying in
+     * parallel on <var>threads</var>.  Use this only for very large arrays.
+     *
+     * @param threads the fork-join thread pool, never missing
+     * @param arrays the arrays to catenate, never missing
+     * @param <T> the array component type
+     *
+     * @return the catenated array, never missing
+     *
+     * @see #cat(Object[][])
+     */
+    @Nonnull
+    @SafeVarargs
+    @SuppressWarnings("varargs") // Passed on only to be read
+    public static <T> T[] cat(@Nonnull final ForkJoinPool threads,
+            @Nonnull final T[]... arrays) {
+        return catenate(threads, arrays, a -> a.length, allocator(arrays));
+    }
+
+    /**
+     * Returns the catenation of <var>arrays</var> in order, sizing the result
+     * once.
+     *
+     * @param arrays the arrays to catenate, never missing
+     *
+     * @return the catenated array, never missing
+     */
+    @Nonnull
+    public static byte[] cat(@Nonnull final byte[]... arrays) {
+        return catenate(arrays, a -> a.length, byte[]::new);
+    }
+
+    /**
+     * Returns the catenation of <var>arrays</var> in order, copying in
+     * parallel on <var>threads</var>.  Use this only for very large arrays.
+     *
+     * @param threads the fork-join thread pool, never missing
+     * @param arrays the arrays to catenate, never missing
+     *
+     * @return the catenated array, never missing
+     */
+    @Nonnull
+    public static byte[] cat(@Nonnull final ForkJoinPool threads,
+            @Nonnull final byte[]... arrays) {
+        return catenate(threads, arrays, a -> a.length, byte[]::new);
+    }
+
+    /**
+     * Returns the catenation of <var>arrays</var> in order, sizing the result
+     * once.
+     *
+     * @param arrays the arrays to catenate, never missing
+     *
+     * @return the catenated array, never missing
+     */
+    @Nonnull
+    public static int[] cat(@Nonnull final int[]... arrays) {
+        return catenate(arrays, a -> a.length, int[]::new);
+    }
+
+    /**
+     * Returns the catenation of <var>arrays</var> in order, copying in
+     * parallel on <var>threads</var>.  Use this only for very large arrays.
+     *
+     * @param threads the fork-join thread pool, never missing
+     * @param arrays the arrays to catenate, never missing
+     *
+     * @return the catenated array, never missing
+     */
+    @Nonnull
+    public static int[] cat(@Nonnull final ForkJoinPool threads,
+            @Nonnull final int[]... arrays) {
+        return catenate(threads, arrays, a -> a.length, int[]::new);
+    }
+
+    /**
+     * Returns the catenation of <var>arrays</var> in order, sizing the result
+     * once.
+     *
+     * @param arrays the arrays to catenate, never missing
+     *
+     * @return the catenated array, never missing
+     */
+    @Nonnull
+    public static long[] cat(@Nonnull final long[]... arrays) {
+        return catenate(arrays, a -> a.length, long[]::new);
+    }
+
+    /**
+     * Returns the catenation of <var>arrays</var> in order, copying in
+     * parallel on <var>threads</var>.  Use this only for very large arrays.
+     *
+     * @param threads the fork-join thread pool, never missing
+     * @param arrays the arrays to catenate, never missing
+     *
+     * @return the catenated array, never missing
+     */
+    @Nonnull
+    public static long[] cat(@Nonnull final ForkJoinPool threads,
+            @Nonnull final long[]... arrays) {
+        return catenate(threads, arrays, a -> a.length, long[]::new);
+    }
+
+    /**
+     * Allocates arrays with the runtime type of the first of
+     * <var>arrays</var>.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> IntFunction<T[]> allocator(final T[][] arrays) {
+        final Class<?> type = (0 == arrays.length ? arrays.getClass()
+                .getComponentType() : arrays[0].getClass()).getComponentType();
+        return n -> (T[]) Array.newInstance(type, n);
+    }
+
+    private static <A> A catenate(final A[] arrays,
+            final ToIntFunction<A> length, final IntFunction<A> allocate) {
+        int n = 0;
+        for (final A array : arrays)
+            n = addExact(n, length.applyAsInt(array));
+        final A catenated = allocate.apply(n);
+        int at = 0;
+        for (final A array : arrays) {
+            final int len = length.applyAsInt(array);
+            arraycopy(array, 0, catenated, at, len);
+            at += len;
+        }
+        return catenated;
+    }
+
+    private static <A> A catenate(final ForkJoinPool threads,
+            final A[] arrays, final ToIntFunction<A> length,
+            final IntFunction<A> allocate) {
+        final int[] offsets = new int[arrays.length + 1];
+        int chunks = 0;
+        for (int i = 0; i < arrays.length; ++i) {
+            final int len = length.applyAsInt(arrays[i]);
+            offsets[i + 1] = addExact(offsets[i], len);
+            chunks += chunks(len);
+        }
+        final A catenated = allocate.apply(offsets[arrays.length]);
+        // Task i copies chunk[i] of arrays[array[i]]
+        final int[] array = new int[chunks];
+        final int[] chunk = new int[chunks];
+        for (int a = 0, i = 0; a < arrays.length; ++a)
+            for (int c = 0, n = chunks(offsets[a + 1] - offsets[a]); c < n;
+                    ++c, ++i) {
+                array[i] = a;
+                chunk[i] = c;
+            }
+        threads.invoke(adapt(() -> range(0, array.length).parallel().
+                forEach(i -> {
+                    final int a = array[i];
+                    final int from = chunk[i] * CHUNK;
+                    arraycopy(arrays[a], from, catenated, offsets[a] + from,
+                            min(CHUNK, offsets[a + 1] - offsets[a] - from));
+                })));
+        return catenated;
+    }
+
+    private static int chunks(final int length) {
+        return length / CHUNK + (0 == length % CHUNK ? 0 : 1);
+    }
 }
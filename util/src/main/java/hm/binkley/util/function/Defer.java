@@ -35,6 +35,10 @@ import static java.lang.Thread.currentThread;
 /**
  * {@code Defer} evaluates deferred execution for throwing versions of types for
  * Java 8 stream.
+ * <p>
+ * Primitive overloads of {@code as} avoid boxing, and facades from the
+ * throwing types use {@link #deferred(Exception)} directly so calls through
+ * them do not allocate.
  *
  * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
  * @todo Needs documentation.
@@ -47,15 +51,8 @@ public interface Defer<D extends RuntimeException>
             final ThrowingSupplier<? extends T, E> throwing) {
         try {
             return throwing.get();
-        } catch (final CancellationException e) {
-            throw apply(e);
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final InterruptedException e) {
-            currentThread().interrupt();
-            throw apply(e);
         } catch (final Exception e) {
-            throw apply(e);
+            throw deferred(e);
         }
     }
 
@@ -63,15 +60,17 @@ public interface Defer<D extends RuntimeException>
             final ThrowingBooleanSupplier<E> throwing) {
         try {
             return throwing.getAsBoolean();
-        } catch (final CancellationException e) {
-            throw apply(e);
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final InterruptedException e) {
-            currentThread().interrupt();
-            throw apply(e);
         } catch (final Exception e) {
-            throw apply(e);
+            throw deferred(e);
+        }
+    }
+
+    default <E extends Exception> int as(
+            final ThrowingIntSupplier<E> throwing) {
+        try {
+            return throwing.getAsInt();
+        } catch (final Exception e) {
+            throw deferred(e);
         }
     }
 
@@ -79,30 +78,45 @@ public interface Defer<D extends RuntimeException>
             final ThrowingLongSupplier<E> throwing) {
         try {
             return throwing.getAsLong();
-        } catch (final CancellationException e) {
-            throw apply(e);
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final InterruptedException e) {
-            currentThread().interrupt();
-            throw apply(e);
         } catch (final Exception e) {
-            throw apply(e);
+            throw deferred(e);
+        }
+    }
+
+    default <E extends Exception> double as(
+            final ThrowingDoubleSupplier<E> throwing) {
+        try {
+            return throwing.getAsDouble();
+        } catch (final Exception e) {
+            throw deferred(e);
         }
     }
 
     default <E extends Exception> void as(final ThrowingRunnable<E> throwing) {
         try {
             throwing.run();
-        } catch (final CancellationException e) {
-            throw apply(e);
-        } catch (final RuntimeException e) {
-            throw e;
-        } catch (final InterruptedException e) {
-            currentThread().interrupt();
-            throw apply(e);
         } catch (final Exception e) {
-            throw apply(e);
+            throw deferred(e);
         }
     }
+
+    /**
+     * Gets the runtime exception to throw in place of <var>e</var>.  Runtime
+     * exceptions other than {@code CancellationException} are returned
+     * unchanged; others are {@link #apply(Object) deferred}.  Interrupts
+     * restore the interrupt status of the current thread.
+     *
+     * @param e the exception thrown by a throwing type, never missing
+     *
+     * @return the runtime exception to throw, never missing
+     */
+    default RuntimeException deferred(final Exception e) {
+        if (e instanceof CancellationException)
+            return apply(e);
+        if (e instanceof RuntimeException)
+            return (RuntimeException) e;
+        if (e instanceof InterruptedException)
+            currentThread().interrupt();
+        return apply(e);
+    }
 }
@@ -1,18 +1,30 @@
 package hm.binkley.util.function;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 
+import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
+import static java.util.Arrays.copyOf;
+import static java.util.concurrent.ForkJoinTask.adapt;
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
 import static lombok.AccessLevel.PRIVATE;
 
 /**
@@ -39,6 +51,14 @@ import static lombok.AccessLevel.PRIVATE;
  * <p>
  * <strong>NB</strong> &mdash; There is no formal destructuring, but this can
  * be simulated in the {@code Predicate} to {@link #when(Predicate) when}.
+ * <p>
+ * When predicates and functions are pure and the input space is small, {@link
+ * #cached(int) cache} results so repeated matches are a single lookup.
+ * <p>
+ * For large batches of input use {@link #applyAll(Collection, ForkJoinPool)
+ * applyAll} or {@link #partitioned() partitioned}, which test each case
+ * against all inputs unmatched by earlier cases rather than each input
+ * against each case.
  *
  * @param <T> the input type to match against
  * @param <U> the output type of a matched pattern
@@ -48,7 +68,9 @@ import static lombok.AccessLevel.PRIVATE;
 @NoArgsConstructor(access = PRIVATE)
 public final class Matching<T, U>
         implements Function<T, Optional<U>> {
-    private final Collection<Case> cases = new ArrayList<>();
+    private final List<Case> cases = new ArrayList<>();
+    private Cache<Object, Optional<U>> cache;
+    private Function<? super T, ?> key;
 
     /**
      * Begins pattern matching with a new pattern matcher.
@@ -88,6 +110,60 @@ public final class Matching<T, U>
         return when(o -> true);
     }
 
+    /**
+     * Caches match results keyed by input equality, evicting least recently
+     * used results beyond <var>maximumSize</var>.  Only use this when all
+     * predicates and functions are pure: cached inputs do not re-evaluate
+     * cases, so side effects and thrown exceptions happen only on the first
+     * match.  {@code null} inputs are never cached.
+     *
+     * @param maximumSize the maximum number of cached results, positive
+     *
+     * @return the pattern matcher, never {@code null}
+     *
+     * @see #cached(int, Function)
+     * @see #stats()
+     */
+    public Matching<T, U> cached(final int maximumSize) {
+        return cached(maximumSize, Function.identity());
+    }
+
+    /**
+     * Caches match results keyed by <var>key</var> of the input, evicting
+     * least recently used results beyond <var>maximumSize</var>.  Inputs with
+     * equal keys must match equally.  Inputs with a {@code null} key are never
+     * cached.
+     *
+     * @param maximumSize the maximum number of cached results, positive
+     * @param key the cache key extractor, never {@code null}
+     *
+     * @return the pattern matcher, never {@code null}
+     *
+     * @see #cached(int)
+     * @see #stats()
+     */
+    public Matching<T, U> cached(final int maximumSize,
+            @Nonnull final Function<? super T, ?> key) {
+        cache = CacheBuilder.newBuilder().
+                maximumSize(maximumSize).
+                recordStats().
+                build();
+        this.key = key;
+        return this;
+    }
+
+    /**
+     * Gets the cache statistics including hit and miss counts.  Statistics
+     * are all zero if matching is not {@link #cached(int) cached}.
+     *
+     * @return the cache statistics, never {@code null}
+     */
+    @Nonnull
+    public CacheStats stats() {
+        return null == cache ? new CacheStats(0, 0, 0, 0, 0, 0)
+                : cache.stats();
+    }
+
     /**
      * Evaluates the pattern matching.
      *
@@ -97,21 +173,116 @@ public final class Matching<T, U>
      */
     @Override
     public Optional<U> apply(final T in) {
+        if (null == cache)
+            return evaluate(in);
+        final Object k = key.apply(in);
+        if (null == k)
+            return evaluate(in);
+        final Optional<U> cached = cache.getIfPresent(k);
+        if (null != cached)
+            return cached;
+        final Optional<U> out = evaluate(in);
+        cache.put(k, out);
+        return out;
+    }
+
+    /**
+     * Evaluates the pattern matching for all of <var>in</var> on
+     * <var>threads</var>.  Each case in turn tests in parallel all inputs not
+     * matched by earlier cases, then matched inputs are mapped in parallel.
+     * This bypasses any {@link #cached(int) cache}.
+     * <p>
+     * <i>NB</i> &mdash; Results are not wrapped in optionals.  There is no way
+     * to distinguish if there was no match, or if a match mapped the input to
+     * {@code null}, without use of a sentinel value.  Side effects in cases
+     * happen on <var>threads</var> in no particular order.
+     *
+     * @param in the inputs to match against, never {@code null}
+     * @param threads the fork-join thread pool, never {@code null}
+     *
+     * @return the match results in input order, {@code null} for no match,
+     * never {@code null}
+     */
+    @Nonnull
+    public List<U> applyAll(@Nonnull final Collection<? extends T> in,
+            @Nonnull final ForkJoinPool threads) {
+        final List<T> inputs = new ArrayList<>(in);
+        return threads.invoke(adapt(() -> {
+            final int[] matched = classify(inputs, true);
+            return range(0, matched.length).parallel().
+                    <U>mapToObj(i -> cases.size() == matched[i] ? null
+                            : cases.get(matched[i]).q.apply(inputs.get(i))).
+                    collect(toList());
+        }));
+    }
+
+    /**
+     * Creates a collector partitioning inputs by matching case.  The collected
+     * list has one more element than the number of cases: element
+     * <var>n</var> lists the inputs matched by the <var>n</var>-th case in
+     * order of {@link #when(Predicate) when}, and the last element lists
+     * inputs matching no case.  Each case in turn tests all inputs not matched
+     * by earlier cases.  Cases are not mapped, only tested.
+     *
+     * @return the partitioning collector, never {@code null}
+     */
+    @Nonnull
+    public Collector<T, ?, List<List<T>>> partitioned() {
+        return collectingAndThen(toList(), inputs -> {
+            final int[] matched = classify(inputs, false);
+            final List<List<T>> partitions = new ArrayList<>(
+                    cases.size() + 1);
+            for (int c = 0; c <= cases.size(); ++c)
+                partitions.add(new ArrayList<>());
+            for (int i = 0; i < matched.length; ++i)
+                partitions.get(matched[i]).add(inputs.get(i));
+            return partitions;
+        });
+    }
+
+    /**
+     * Finds the index of the first matching case for each of <var>inputs</var>,
+     * or the number of cases for no match.
+     */
+    private int[] classify(final List<T> inputs, final boolean parallel) {
+        final int[] matched = new int[inputs.size()];
+        int[] remaining = range(0, matched.length).toArray();
+        for (int c = 0; c < cases.size() && 0 < remaining.length; ++c) {
+            final Predicate<? super T> p = cases.get(c).p;
+            final int[] unmatched = remaining;
+            final boolean[] tests = new boolean[unmatched.length];
+            final IntStream indices = range(0, unmatched.length);
+            (parallel ? indices.parallel() : indices).forEach(
+                    i -> tests[i] = p.test(inputs.get(unmatched[i])));
+            int n = 0;
+            for (int i = 0; i < unmatched.length; ++i)
+                if (tests[i])
+                    matched[unmatched[i]] = c;
+                else
+                    unmatched[n++] = unmatched[i];
+            remaining = copyOf(unmatched, n);
+        }
+        for (final int i : remaining)
+            matched[i] = cases.size();
+        return matched;
+    }
+
+    private Optional<U> evaluate(final T in) {
         return cases.stream().
                 filter(c -> c.p.test(in)).
                 findFirst().
                 map(c -> c.q.apply(in));
     }
 
+    private Matching<T, U> add(final Case c) {
+        cases.add(c);
+        if (null != cache)
+            cache.invalidateAll();
+        return this;
+    }
+
     @RequiredArgsConstructor(access = PRIVATE)
     public final class When {
-        /**
-         * Number of frames to discard when creating an exception for a match.
-         * Very sensitive to implementation.  This aids in understanding stack
-         * traces from matching, discarding internal machinery and leaving the
-         * actual throwing call at the top of the stack.
-         */
-        private static final int N = 7;
         private final Predicate<? super T> when;
 
         /**
@@ -124,8 +295,7 @@ public final class Matching<T, U>
          */
         public Matching<T, U> then(
                 final Function<? super T, ? extends U> then) {
-            cases.add(new Case(when, then));
-            return Matching.this;
+            return add(new Case(when, then));
         }
 
         /**
@@ -136,8 +306,7 @@ public final class Matching<T, U>
          * @return the pattern matcher, never {@code null}
          */
         public Matching<T, U> then(final U then) {
-            cases.add(new Case(when, x -> then));
-            return Matching.this;
+            return add(new Case(when, x -> then));
         }
 
         /**
@@ -149,8 +318,7 @@ public final class Matching<T, U>
          * @return the pattern matcher, never {@code null}
          */
         public Matching<T, U> then(final Supplier<? extends U> then) {
-            cases.add(new Case(when, x -> then.get()));
-            return Matching.this;
+            return add(new Case(when, x -> then.get()));
         }
 
         /**
@@ -162,11 +330,10 @@ public final class Matching<T, U>
          * @return the pattern matcher, never {@code null}
          */
         public Matching<T, U> then(final Consumer<? super T> then) {
-            cases.add(new Case(when, o -> {
+            return add(new Case(when, o -> {
                 then.accept(o);
                 return null;
             }));
-            return Matching.this;
         }
 
         /**
@@ -180,18 +347,37 @@ public final class Matching<T, U>
          */
         public Matching<T, U> thenThrow(
                 final Supplier<RuntimeException> then) {
-            cases.add(new Case(when, x -> {
+            return add(new Case(when, x -> {
                 final RuntimeException e = then.get();
                 final List<StackTraceElement> stack = asList(
                         e.getStackTrace());
-                e.setStackTrace(stack.subList(N, stack.size()).
-                        toArray(new StackTraceElement[stack.size() - N]));
+                final int n = machinery(stack);
+                e.setStackTrace(stack.subList(n, stack.size()).
+                        toArray(new StackTraceElement[stack.size() - n]));
                 throw e;
             }));
-            return Matching.this;
         }
     }
 
+    /**
+     * Counts the frames to discard when creating an exception for a match:
+     * all frames through the last one in matching.  This aids in
+     * understanding stack traces from matching, discarding internal machinery
+     * and leaving the actual throwing call at the top of the stack whichever
+     * way matching was called.  On a worker thread of {@link
+     * #applyAll(Collection, ForkJoinPool) applyAll} there is no calling frame,
+     * and the pool machinery is left.
+     */
+    private static int machinery(final List<StackTraceElement> stack) {
+        final String name = Matching.class.getName();
+        for (int i = stack.size() - 1; 0 <= i; --i) {
+            final String frame = stack.get(i).getClassName();
+            if (frame.equals(name) || frame.startsWith(name + '$'))
+                return i + 1;
+        }
+        return 0;
+    }
+
     @RequiredArgsConstructor(access = PRIVATE)
     private final class Case {
         private final Predicate<? super T> p;
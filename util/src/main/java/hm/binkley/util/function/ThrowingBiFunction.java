@@ -28,6 +28,12 @@ public interface ThrowingBiFunction<T, U, R, E extends Exception> {
 
     /** Creates a facade {@code Function} wrapping this throwing one. */
     default <D extends RuntimeException> BiFunction<T, U, R> asBiFunction(final Defer<D> defer) {
-        return (u, v) -> defer.as(() -> apply(u, v));
+        return (t, u) -> {
+            try {
+                return apply(t, u);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
     }
 }
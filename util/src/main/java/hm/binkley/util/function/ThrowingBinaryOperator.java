@@ -31,6 +31,12 @@ public interface ThrowingBinaryOperator<T, E extends Exception>
 
     /** Creates a facade {@code BinaryOperator} wrapping this throwing one. */
     default <D extends RuntimeException> BinaryOperator<T> asBinaryOperator(final Defer<D> defer) {
-        return (u, v) -> defer.as(() -> apply(u, v));
+        return (t, u) -> {
+            try {
+                return apply(t, u);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
     }
 }
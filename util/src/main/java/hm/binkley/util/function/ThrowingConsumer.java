@@ -28,6 +28,12 @@ public interface ThrowingConsumer<T, E extends Exception> {
 
     /** Creates a facade {@code Consumer} wrapping this throwing one. */
     default <D extends RuntimeException> Consumer<T> asConsumer(final Defer<D> defer) {
-        return t -> defer.as(() -> accept(t));
+        return t -> {
+            try {
+                accept(t);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
     }
 }
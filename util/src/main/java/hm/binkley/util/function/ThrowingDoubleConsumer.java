@@ -0,0 +1,39 @@
+package hm.binkley.util.function;
+
+import javax.annotation.Nonnull;
+import java.util.function.DoubleConsumer;
+
+/**
+ * {@code ThrowingDoubleConsumer} is a <em>throwing</em> look-a=like of {@link DoubleConsumer}.  It
+ * cannot be a {@code DoubleConsumer} as it takes throwing versions of consumers.  Otherwise it is a
+ * faithful reproduction.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+@SuppressWarnings({"UnusedDeclaration", "JavaDoc"})
+@FunctionalInterface
+public interface ThrowingDoubleConsumer<E extends Exception> {
+    /** @see DoubleConsumer#accept(double) */
+    void accept(final double value)
+            throws E, InterruptedException;
+
+    /** @see DoubleConsumer#andThen(DoubleConsumer) */
+    @Nonnull
+    default ThrowingDoubleConsumer<E> andThen(@Nonnull final ThrowingDoubleConsumer<E> after) {
+        return (double t) -> {
+            accept(t);
+            after.accept(t);
+        };
+    }
+
+    /** Creates a facade {@code DoubleConsumer} wrapping this throwing one. */
+    default <D extends RuntimeException> DoubleConsumer asDoubleConsumer(final Defer<D> defer) {
+        return t -> {
+            try {
+                accept(t);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package hm.binkley.util.function;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * {@code ThrowingDoubleSupplier} is a <em>throwing</em> look-a=like of {@link DoubleSupplier}.
+ * It cannot be a {@code DoubleSupplier} as it takes throwing versions of double suppliers.
+ * Otherwise it is a faithful reproduction.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+@SuppressWarnings("JavaDoc")
+@FunctionalInterface
+public interface ThrowingDoubleSupplier<E extends Exception> {
+    /** @see DoubleSupplier#getAsDouble() */
+    double getAsDouble()
+            throws E, InterruptedException;
+
+    /** Creates a facade {@code DoubleSupplier} wrapping this throwing one. */
+    default <D extends RuntimeException> DoubleSupplier asDoubleSupplier(final Defer<D> defer) {
+        return () -> defer.as(this);
+    }
+}
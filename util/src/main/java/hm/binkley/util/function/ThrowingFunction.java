@@ -40,6 +40,12 @@ public interface ThrowingFunction<T, R, E extends Exception> {
     /** Creates a facade {@code Function} wrapping this throwing one. */
     default <D extends RuntimeException> Function<T, R> asFunction(
             final Defer<D> defer) {
-        return t -> defer.as(() -> apply(t));
+        return t -> {
+            try {
+                return apply(t);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
     }
 }
@@ -0,0 +1,39 @@
+package hm.binkley.util.function;
+
+import javax.annotation.Nonnull;
+import java.util.function.IntConsumer;
+
+/**
+ * {@code ThrowingIntConsumer} is a <em>throwing</em> look-a=like of {@link IntConsumer}.  It
+ * cannot be a {@code IntConsumer} as it takes throwing versions of consumers.  Otherwise it is a
+ * faithful reproduction.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+@SuppressWarnings({"UnusedDeclaration", "JavaDoc"})
+@FunctionalInterface
+public interface ThrowingIntConsumer<E extends Exception> {
+    /** @see IntConsumer#accept(int) */
+    void accept(final int value)
+            throws E, InterruptedException;
+
+    /** @see IntConsumer#andThen(IntConsumer) */
+    @Nonnull
+    default ThrowingIntConsumer<E> andThen(@Nonnull final ThrowingIntConsumer<E> after) {
+        return (int t) -> {
+            accept(t);
+            after.accept(t);
+        };
+    }
+
+    /** Creates a facade {@code IntConsumer} wrapping this throwing one. */
+    default <D extends RuntimeException> IntConsumer asIntConsumer(final Defer<D> defer) {
+        return t -> {
+            try {
+                accept(t);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
+    }
+}
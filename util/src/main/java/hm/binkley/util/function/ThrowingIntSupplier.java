@@ -0,0 +1,23 @@
+package hm.binkley.util.function;
+
+import java.util.function.IntSupplier;
+
+/**
+ * {@code ThrowingIntSupplier} is a <em>throwing</em> look-a=like of {@link IntSupplier}. It
+ * cannot be a {@code IntSupplier} as it takes throwing versions of int suppliers. Otherwise it is
+ * a faithful reproduction.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+@SuppressWarnings("JavaDoc")
+@FunctionalInterface
+public interface ThrowingIntSupplier<E extends Exception> {
+    /** @see IntSupplier#getAsInt() */
+    int getAsInt()
+            throws E, InterruptedException;
+
+    /** Creates a facade {@code IntSupplier} wrapping this throwing one. */
+    default <D extends RuntimeException> IntSupplier asIntSupplier(final Defer<D> defer) {
+        return () -> defer.as(this);
+    }
+}
@@ -0,0 +1,39 @@
+package hm.binkley.util.function;
+
+import javax.annotation.Nonnull;
+import java.util.function.LongConsumer;
+
+/**
+ * {@code ThrowingLongConsumer} is a <em>throwing</em> look-a=like of {@link LongConsumer}.  It
+ * cannot be a {@code LongConsumer} as it takes throwing versions of consumers.  Otherwise it is a
+ * faithful reproduction.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+@SuppressWarnings({"UnusedDeclaration", "JavaDoc"})
+@FunctionalInterface
+public interface ThrowingLongConsumer<E extends Exception> {
+    /** @see LongConsumer#accept(long) */
+    void accept(final long value)
+            throws E, InterruptedException;
+
+    /** @see LongConsumer#andThen(LongConsumer) */
+    @Nonnull
+    default ThrowingLongConsumer<E> andThen(@Nonnull final ThrowingLongConsumer<E> after) {
+        return (long t) -> {
+            accept(t);
+            after.accept(t);
+        };
+    }
+
+    /** Creates a facade {@code LongConsumer} wrapping this throwing one. */
+    default <D extends RuntimeException> LongConsumer asLongConsumer(final Defer<D> defer) {
+        return t -> {
+            try {
+                accept(t);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
+    }
+}
@@ -46,6 +46,12 @@ public interface ThrowingPredicate<T, E extends Exception> {
     /** Creates a facade {@code Predicate} wrapping this throwing one. */
     default <D extends RuntimeException> Predicate<T> asPredicate(
             final Defer<D> defer) {
-        return t -> defer.as(() -> test(t));
+        return t -> {
+            try {
+                return test(t);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
     }
 }
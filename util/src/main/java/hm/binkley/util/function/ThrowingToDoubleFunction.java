@@ -0,0 +1,30 @@
+package hm.binkley.util.function;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@code ThrowingToDoubleFunction} is a <em>throwing</em> look-a=like of {@link
+ * ToDoubleFunction}.  It cannot be a {@code ToDoubleFunction} as it takes throwing versions of
+ * functions.  Otherwise it is a faithful reproduction.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+@SuppressWarnings({"UnusedDeclaration", "JavaDoc"})
+@FunctionalInterface
+public interface ThrowingToDoubleFunction<T, E extends Exception> {
+    /** @see ToDoubleFunction#applyAsDouble(Object) */
+    double applyAsDouble(final T value)
+            throws E, InterruptedException;
+
+    /** Creates a facade {@code ToDoubleFunction} wrapping this throwing one. */
+    default <D extends RuntimeException> ToDoubleFunction<T> asToDoubleFunction(
+            final Defer<D> defer) {
+        return t -> {
+            try {
+                return applyAsDouble(t);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package hm.binkley.util.function;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * {@code ThrowingToIntFunction} is a <em>throwing</em> look-a=like of {@link ToIntFunction}.  It
+ * cannot be a {@code ToIntFunction} as it takes throwing versions of functions.  Otherwise it is a
+ * faithful reproduction.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+@SuppressWarnings({"UnusedDeclaration", "JavaDoc"})
+@FunctionalInterface
+public interface ThrowingToIntFunction<T, E extends Exception> {
+    /** @see ToIntFunction#applyAsInt(Object) */
+    int applyAsInt(final T value)
+            throws E, InterruptedException;
+
+    /** Creates a facade {@code ToIntFunction} wrapping this throwing one. */
+    default <D extends RuntimeException> ToIntFunction<T> asToIntFunction(final Defer<D> defer) {
+        return t -> {
+            try {
+                return applyAsInt(t);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
+    }
+}
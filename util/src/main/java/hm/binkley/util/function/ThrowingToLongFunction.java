@@ -0,0 +1,29 @@
+package hm.binkley.util.function;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * {@code ThrowingToLongFunction} is a <em>throwing</em> look-a=like of {@link ToLongFunction}.  It
+ * cannot be a {@code ToLongFunction} as it takes throwing versions of functions.  Otherwise it is a
+ * faithful reproduction.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+@SuppressWarnings({"UnusedDeclaration", "JavaDoc"})
+@FunctionalInterface
+public interface ThrowingToLongFunction<T, E extends Exception> {
+    /** @see ToLongFunction#applyAsLong(Object) */
+    long applyAsLong(final T value)
+            throws E, InterruptedException;
+
+    /** Creates a facade {@code ToLongFunction} wrapping this throwing one. */
+    default <D extends RuntimeException> ToLongFunction<T> asToLongFunction(final Defer<D> defer) {
+        return t -> {
+            try {
+                return applyAsLong(t);
+            } catch (final Exception e) {
+                throw defer.deferred(e);
+            }
+        };
+    }
+}
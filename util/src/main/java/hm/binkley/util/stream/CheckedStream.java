@@ -10,6 +10,9 @@ import hm.binkley.util.function.ThrowingLongSupplier;
 import hm.binkley.util.function.ThrowingPredicate;
 import hm.binkley.util.function.ThrowingRunnable;
 import hm.binkley.util.function.ThrowingSupplier;
+import hm.binkley.util.function.ThrowingToDoubleFunction;
+import hm.binkley.util.function.ThrowingToIntFunction;
+import hm.binkley.util.function.ThrowingToLongFunction;
 import sun.misc.Unsafe;
 
 import javax.annotation.Nonnull;
@@ -283,33 +286,48 @@ public abstract class CheckedStream<T>
     }
 
     /**
-     * @todo Throwing version
+     * Maps lazily.  Terminal operations of the returned {@code IntStream} rethrow exceptions thrown
+     * by <var>mapper</var> as is, though they cannot declare them; this method declares them on
+     * their behalf.  Mapped values are not boxed.
+     *
      * @see Stream#mapToInt(ToIntFunction)
      */
     @Nonnull
-    public final IntStream mapToInt(@Nonnull final ToIntFunction<? super T> mapper)
-            throws InterruptedException {
-        return evaluateObject(() -> stream.mapToInt(mapper));
+    public final <E extends Exception> IntStream mapToInt(
+            @Nonnull final ThrowingToIntFunction<? super T, E> mapper)
+            throws E, InterruptedException {
+        return evaluateObject(
+                () -> stream.mapToInt(mapper.asToIntFunction(CheckedStream::rethrown)));
     }
 
     /**
-     * @todo Throwing version
+     * Maps lazily.  Terminal operations of the returned {@code LongStream} rethrow exceptions thrown
+     * by <var>mapper</var> as is, though they cannot declare them; this method declares them on
+     * their behalf.  Mapped values are not boxed.
+     *
      * @see Stream#mapToLong(ToLongFunction)
      */
     @Nonnull
-    public final LongStream mapToLong(@Nonnull final ToLongFunction<? super T> mapper)
-            throws InterruptedException {
-        return evaluateObject(() -> stream.mapToLong(mapper));
+    public final <E extends Exception> LongStream mapToLong(
+            @Nonnull final ThrowingToLongFunction<? super T, E> mapper)
+            throws E, InterruptedException {
+        return evaluateObject(
+                () -> stream.mapToLong(mapper.asToLongFunction(CheckedStream::rethrown)));
     }
 
     /**
-     * @todo Throwing version
+     * Maps lazily.  Terminal operations of the returned {@code DoubleStream} rethrow exceptions
+     * thrown by <var>mapper</var> as is, though they cannot declare them; this method declares them
+     * on their behalf.  Mapped values are not boxed.
+     *
      * @see Stream#mapToDouble(ToDoubleFunction)
      */
     @Nonnull
-    public final DoubleStream mapToDouble(@Nonnull final ToDoubleFunction<? super T> mapper)
-            throws InterruptedException {
-        return evaluateObject(() -> stream.mapToDouble(mapper));
+    public final <E extends Exception> DoubleStream mapToDouble(
+            @Nonnull final ThrowingToDoubleFunction<? super T, E> mapper)
+            throws E, InterruptedException {
+        return evaluateObject(
+                () -> stream.mapToDouble(mapper.asToDoubleFunction(CheckedStream::rethrown)));
     }
 
     /** @see Stream#flatMap(Function) */
@@ -588,6 +606,15 @@ public abstract class CheckedStream<T>
         return parallel ? collected.parallelStream() : collected.stream();
     }
 
+    /**
+     * Rethrows <var>e</var> as is from streams handed back to callers, which cannot declare it.
+     * Never returns.
+     */
+    private static StreamException rethrown(final Exception e) {
+        unsafe.throwException(StreamException.scrub(e));
+        return null;
+    }
+
     private <R> CheckedStream<R> evaluateStream(final Supplier<Stream<R>> frame)
             throws InterruptedException {
         try {
@@ -889,5 +916,11 @@ public abstract class CheckedStream<T>
                 sorted().
                 unordered().
                 toArray();
+
+        checked(Stream.of(1)).
+                mapToInt(i -> {
+                    throw new AccessException("foo");
+                }).
+                sum();
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ *
+ * Anyone is free to copy, modify, publish, use, compile, sell, or
+ * distribute this software, either in source code form or as a compiled
+ * binary, for any purpose, commercial or non-commercial, and by any
+ * means.
+ *
+ * In jurisdictions that recognize copyright laws, the author or authors
+ * of this software dedicate any and all copyright interest in the
+ * software to the public domain. We make this dedication for the benefit
+ * of the public at large and to the detriment of our heirs and
+ * successors. We intend this dedication to be an overt act of
+ * relinquishment in perpetuity of all present and future rights to this
+ * software under copyright law.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT.
+ * IN NO EVENT SHALL THE AUTHORS BE LIABLE FOR ANY CLAIM, DAMAGES OR
+ * OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE,
+ * ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ *
+ * For more information, please refer to <http://unlicense.org/>.
+ */
+package hm.binkley.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static hm.binkley.util.Arrays.array;
+import static hm.binkley.util.Arrays.cat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code ArraysTest} tests {@link Arrays}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class ArraysTest {
+    @Test
+    public void shouldCatElements() {
+        assertThat(cat(array("a"), "b", "c"),
+                is(equalTo(array("a", "b", "c"))));
+    }
+
+    @Test
+    public void shouldCatArrays() {
+        assertThat(cat(array("a"), array("b"), array("c", "d")),
+                is(equalTo(array("a", "b", "c", "d"))));
+    }
+
+    @Test
+    public void shouldCatArraysAsFirstType() {
+        final Object[] first = array("a");
+        // Pass the arrays as one, else cat(T[], T...) is chosen
+        assertThat(cat(new Object[][]{first, array("b")}),
+                is(instanceOf(String[].class)));
+    }
+
+    @Test
+    public void shouldCatBytes() {
+        assertThat(cat(new byte[]{1}, new byte[0], new byte[]{2, 3}),
+                is(equalTo(new byte[]{1, 2, 3})));
+    }
+
+    @Test
+    public void shouldCatInts() {
+        assertThat(cat(new int[]{1}, new int[]{2, 3}),
+                is(equalTo(new int[]{1, 2, 3})));
+    }
+
+    @Test
+    public void shouldCatLongs() {
+        assertThat(cat(new long[]{1}, new long[]{2, 3}),
+                is(equalTo(new long[]{1, 2, 3})));
+    }
+
+    @Test
+    public void shouldCatInParallel() {
+        final byte[] a = new byte[(1 << 20) + 1];
+        final byte[] b = new byte[1 << 19];
+        for (int i = 0; i < a.length; ++i)
+            a[i] = (byte) i;
+        for (int i = 0; i < b.length; ++i)
+            b[i] = (byte) -i;
+
+        final ForkJoinPool threads = new ForkJoinPool(4);
+        try {
+            assertThat(cat(threads, a, b), is(equalTo(cat(a, b))));
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldCatObjectsInParallel() {
+        final ForkJoinPool threads = new ForkJoinPool(2);
+        try {
+            assertThat(cat(threads, array("a"), array("b", "c")),
+                    is(equalTo(array("a", "b", "c"))));
+        } finally {
+            threads.shutdown();
+        }
+    }
+}
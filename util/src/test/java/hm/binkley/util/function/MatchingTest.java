@@ -2,8 +2,11 @@ package hm.binkley.util.function;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -19,6 +22,7 @@ import static java.util.function.Function.identity;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * {@code MatchingTest} tests {@code Matching}.
@@ -78,6 +82,114 @@ public final class MatchingTest {
         assertThat(i.get(), equalTo(1));
     }
 
+    @Test
+    public void shouldCache() {
+        final AtomicInteger i = new AtomicInteger();
+        final Matching<Integer, Integer> matching = matching(Integer.class,
+                Integer.class).
+                when(is(1)).then(count(i)).
+                cached(1);
+        matching.apply(1);
+        assertThat(matching.apply(1).get(), equalTo(1));
+        assertThat(i.get(), equalTo(1));
+        assertThat(matching.stats().hitCount(), equalTo(1L));
+        assertThat(matching.stats().missCount(), equalTo(1L));
+    }
+
+    @Test
+    public void shouldCacheByKey() {
+        final AtomicInteger i = new AtomicInteger();
+        final Matching<Integer, Integer> matching = matching(Integer.class,
+                Integer.class).
+                none().then(count(i)).
+                cached(2, n -> n % 2);
+        matching.apply(1);
+        assertThat(matching.apply(3).get(), equalTo(1));
+        assertThat(i.get(), equalTo(1));
+    }
+
+    @Test
+    public void shouldNotCacheNull() {
+        final AtomicInteger i = new AtomicInteger();
+        final Matching<Integer, Integer> matching = matching(Integer.class,
+                Integer.class).
+                when(Objects::isNull).then(count(i)).
+                cached(1);
+        matching.apply(null);
+        matching.apply(null);
+        assertThat(i.get(), equalTo(2));
+    }
+
+    @Test
+    public void shouldTrimThrownStackToCaller() {
+        try {
+            matching(Integer.class, Object.class).
+                    none().thenThrow(RuntimeException::new).
+                    apply(0);
+            fail();
+        } catch (final RuntimeException e) {
+            assertThat(e.getStackTrace()[0].getMethodName(),
+                    equalTo("shouldTrimThrownStackToCaller"));
+        }
+    }
+
+    @Test
+    public void shouldTrimThrownStackToCallerWhenCached() {
+        try {
+            matching(Integer.class, Object.class).
+                    none().thenThrow(RuntimeException::new).
+                    cached(1).
+                    apply(0);
+            fail();
+        } catch (final RuntimeException e) {
+            assertThat(e.getStackTrace()[0].getMethodName(),
+                    equalTo("shouldTrimThrownStackToCallerWhenCached"));
+        }
+    }
+
+    @Test
+    public void shouldApplyAll() {
+        final ForkJoinPool threads = new ForkJoinPool(2);
+        try {
+            assertThat(matching(Integer.class, Object.class).
+                    when(is(1)).then("one").
+                    when(even()).then(scaleBy(3)).
+                    applyAll(asList(0, 1, 2, 3), threads),
+                    equalTo(Arrays.<Object>asList(0, "one", 6, null)));
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldTrimThrownStackWhenApplyingAll() {
+        final ForkJoinPool threads = new ForkJoinPool(2);
+        try {
+            matching(Integer.class, Object.class).
+                    none().thenThrow(RuntimeException::new).
+                    applyAll(asList(0, 1, 2, 3), threads);
+            fail();
+        } catch (final RuntimeException e) {
+            for (Throwable t = e; null != t; t = t.getCause())
+                for (final StackTraceElement frame : t.getStackTrace())
+                    assertFalse(frame.getClassName().startsWith(
+                            Matching.class.getName() + '$'));
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldPartition() {
+        final List<List<Integer>> partitions = asList(0, 1, 2, 3).stream().
+                collect(matching(Integer.class, Object.class).
+                        when(is(1)).then("one").
+                        when(even()).then(scaleBy(3)).
+                        partitioned());
+        assertThat(partitions, equalTo(
+                asList(asList(1), asList(0, 2), asList(3))));
+    }
+
     @Test
     public void shouldDoNothingWithoutApply() {
         matching(Object.class, Void.class).
@@ -125,6 +237,10 @@ public final class MatchingTest {
         return n -> n * factor;
     }
 
+    private static Function<Integer, Integer> count(final AtomicInteger i) {
+        return n -> i.incrementAndGet();
+    }
+
     private static Predicate<Integer> gt(final int b) {
         return n -> b < n;
     }
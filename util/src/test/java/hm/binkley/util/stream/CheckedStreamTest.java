@@ -238,6 +238,49 @@ public class CheckedStreamTest {
                 count();
     }
 
+    @Test
+    public void shouldMapToIntWhenSequential()
+            throws InterruptedException {
+        assertThat(checked(Stream.of(1, 2, 3)).
+                mapToInt(i -> i).
+                sum(), is(equalTo(6)));
+    }
+
+    @Test
+    public void shouldMapToIntLazily()
+            throws InterruptedException {
+        assertThat(checked(Stream.iterate(1, i -> i + 1)).
+                mapToInt(i -> i).
+                limit(3).
+                sum(), is(equalTo(6)));
+    }
+
+    @Test
+    public void shouldThrowCheckedFromMapToIntWhenSequential()
+            throws AccessDeniedException, InterruptedException {
+        thrown.expect(AccessDeniedException.class);
+        thrown.expectMessage("Foo!");
+
+        checked(Stream.of(1, 2, 3)).
+                mapToInt(i -> {
+                    throw new AccessDeniedException("Foo!");
+                }).
+                sum();
+    }
+
+    @Test
+    public void shouldThrowCheckedFromMapToDoubleWhenSequential()
+            throws AccessDeniedException, InterruptedException {
+        thrown.expect(AccessDeniedException.class);
+        thrown.expectMessage("Foo!");
+
+        checked(Stream.of(1, 2, 3)).
+                mapToDouble(i -> {
+                    throw new AccessDeniedException("Foo!");
+                }).
+                sum();
+    }
+
     @Test
     public void shouldThrowUncheckedWhenParallel()
             throws InterruptedException {
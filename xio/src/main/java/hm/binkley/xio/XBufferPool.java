@@ -0,0 +1,291 @@
+package hm.binkley.xio;
+
+import javax.annotation.Nonnull;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Integer.numberOfTrailingZeros;
+
+/**
+ * {@code XBufferPool} reuses direct byte buffers, avoiding the cost of
+ * allocating native memory per use and fragmenting it.  Buffers come in
+ * power-of-two size classes; requests round up to the next class, and
+ * requests beyond the largest class are allocated unpooled.
+ * <p>
+ * Each thread keeps a small cache per size class, falling back to a shared
+ * lock-free free list per class.  Use {@link #open(int)} for an {@link
+ * XByteBufferInputOutputStream} which returns its buffer on {@link
+ * XByteBufferInputOutputStream#close() close()}, or {@link #acquire(int)}
+ * and {@link #release(ByteBuffer)} directly, for example, for {@link
+ * XBufferedInputStream} buffers.  Do not use a buffer or stream after
+ * returning it.
+ * <p>
+ * In debug mode the pool rejects releasing a buffer twice, and records where
+ * streams were opened which were garbage collected without being closed; see
+ * {@link #leaks()}.  Enable debug mode for the default pool with the system
+ * property {@code hm.binkley.xio.XBufferPool.debug}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class XBufferPool {
+    /** Buffers kept per size class per thread. */
+    private static final int THREAD_CACHE_SIZE = 8;
+
+    private final int minShift;
+    private final int maxSize;
+    private final int maxPooled;
+    private final boolean debug;
+    private final Queue<ByteBuffer>[] shared;
+    private final AtomicInteger[] sharedCounts;
+    private final ThreadLocal<ByteBuffer[][]> cache;
+    private final ThreadLocal<int[]> cacheCounts;
+    /** Pooled buffers allocated here, held weakly to not keep leaks. */
+    private final Set<Owned> owned = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<ByteBuffer> dropped = new ReferenceQueue<>();
+    private final Set<ByteBuffer> outstanding = Collections
+            .synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private final Queue<Throwable> leaks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructs a new {@code XBufferPool} for sizes from 4 KiB to 1 MiB,
+     * sharing at most 64 free buffers per size class.
+     */
+    public XBufferPool() {
+        this(4 << 10, 1 << 20, 64,
+                Boolean.getBoolean(XBufferPool.class.getName() + ".debug"));
+    }
+
+    /**
+     * Constructs a new {@code XBufferPool}.
+     *
+     * @param minSize the smallest size class, a power of two
+     * @param maxSize the largest size class, a power of two no smaller than
+     * <var>minSize</var>
+     * @param maxPooled the most free buffers shared per size class
+     * @param debug if {@code true} checks releases and detects leaks
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public XBufferPool(final int minSize, final int maxSize,
+            final int maxPooled, final boolean debug) {
+        if (0 >= minSize || 0 != (minSize & minSize - 1) || maxSize < minSize
+                || 0 != (maxSize & maxSize - 1))
+            throw new IllegalArgumentException(
+                    "Sizes must be powers of two with min <= max: " + minSize
+                            + ", " + maxSize);
+        minShift = numberOfTrailingZeros(minSize);
+        this.maxSize = maxSize;
+        this.maxPooled = maxPooled;
+        this.debug = debug;
+        final int classes = numberOfTrailingZeros(maxSize) - minShift + 1;
+        shared = new Queue[classes];
+        sharedCounts = new AtomicInteger[classes];
+        for (int i = 0; i < classes; ++i) {
+            shared[i] = new ConcurrentLinkedQueue<>();
+            sharedCounts[i] = new AtomicInteger();
+        }
+        cache = ThreadLocal
+                .withInitial(() -> new ByteBuffer[classes][THREAD_CACHE_SIZE]);
+        cacheCounts = ThreadLocal.withInitial(() -> new int[classes]);
+    }
+
+    /**
+     * Acquires a cleared direct buffer with limit <var>size</var>.  The
+     * capacity may be larger.
+     *
+     * @param size the needed size, positive
+     *
+     * @return the buffer, never missing
+     */
+    @Nonnull
+    public ByteBuffer acquire(final int size) {
+        if (0 >= size)
+            throw new IllegalArgumentException("Non-positive size: " + size);
+        final ByteBuffer buf = size > maxSize ? ByteBuffer.allocateDirect(size)
+                : take(sizeClass(size));
+        buf.limit(size);
+        if (debug)
+            outstanding.add(buf);
+        return buf;
+    }
+
+    /**
+     * Returns <var>buf</var> to the pool.  Buffers not allocated by this
+     * pool, including views and slices of its buffers, or too large to pool
+     * are dropped.
+     *
+     * @param buf the buffer, never missing
+     *
+     * @throws IllegalStateException in debug mode if <var>buf</var> was
+     * already released
+     */
+    public void release(@Nonnull final ByteBuffer buf) {
+        if (debug && !outstanding.remove(buf))
+            throw new IllegalStateException("Buffer not acquired or already released");
+        if (!owned.contains(new Owned(buf, null)))
+            return;
+        final int sizeClass = numberOfTrailingZeros(buf.capacity()) - minShift;
+        buf.clear();
+        final int[] counts = cacheCounts.get();
+        if (THREAD_CACHE_SIZE > counts[sizeClass]) {
+            cache.get()[sizeClass][counts[sizeClass]++] = buf;
+            return;
+        }
+        if (sharedCounts[sizeClass].incrementAndGet() <= maxPooled)
+            shared[sizeClass].offer(buf);
+        else
+            sharedCounts[sizeClass].decrementAndGet();
+    }
+
+    /**
+     * Opens a stream over a pooled buffer of at least <var>size</var> bytes.
+     * Closing the stream returns the buffer to this pool.
+     *
+     * @param size the needed size, positive
+     *
+     * @return the new stream, never missing
+     */
+    @Nonnull
+    public XByteBufferInputOutputStream open(final int size) {
+        if (debug)
+            reap();
+        return new Pooled(acquire(size));
+    }
+
+    /**
+     * Gets where leaked streams were opened, those garbage collected without
+     * being closed.  Empty unless in debug mode.
+     *
+     * @return the leak traces, never missing
+     */
+    @Nonnull
+    public List<Throwable> leaks() {
+        reap();
+        return new ArrayList<>(leaks);
+    }
+
+    private int sizeClass(final int size) {
+        return Math.max(0, 32 - numberOfLeadingZeros(size - 1) - minShift);
+    }
+
+    private ByteBuffer take(final int sizeClass) {
+        final int[] counts = cacheCounts.get();
+        if (0 < counts[sizeClass]) {
+            final ByteBuffer[] stack = cache.get()[sizeClass];
+            final ByteBuffer buf = stack[--counts[sizeClass]];
+            stack[counts[sizeClass]] = null;
+            return buf;
+        }
+        final ByteBuffer buf = shared[sizeClass].poll();
+        if (null != buf) {
+            sharedCounts[sizeClass].decrementAndGet();
+            return buf;
+        }
+        Object gone;
+        while (null != (gone = dropped.poll()))
+            owned.remove(gone);
+        final ByteBuffer fresh = ByteBuffer
+                .allocateDirect(1 << minShift + sizeClass);
+        owned.add(new Owned(fresh, dropped));
+        return fresh;
+    }
+
+    private void reap() {
+        Object lease;
+        while (null != (lease = collected.poll()))
+            if (leases.remove(lease)) {
+                outstanding.remove(((Lease) lease).buf);
+                leaks.add(((Lease) lease).opened);
+            }
+    }
+
+    /**
+     * Weakly keys a buffer by identity, as buffers compare by content.  A
+     * cleared key equals only itself, so it can still be removed.
+     */
+    private static final class Owned
+            extends WeakReference<ByteBuffer> {
+        private final int hash;
+
+        private Owned(final ByteBuffer buf,
+                final ReferenceQueue<ByteBuffer> dropped) {
+            super(buf, dropped);
+            hash = System.identityHashCode(buf);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Owned))
+                return false;
+            final ByteBuffer buf = get();
+            return null != buf && buf == ((Owned) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Tracks a stream in debug mode until closed or collected.  A collected
+     * stream's lease is enqueued for {@link #reap()}.
+     */
+    private final class Lease
+            extends PhantomReference<Object> {
+        private final ByteBuffer buf;
+        private final Throwable opened;
+
+        private Lease(final Object stream, final ByteBuffer buf) {
+            super(stream, collected);
+            this.buf = buf;
+            opened = new Throwable("Stream of " + buf.limit()
+                    + " bytes opened but never closed");
+            leases.add(this);
+        }
+
+        @Override
+        public void clear() {
+            leases.remove(this);
+            super.clear();
+        }
+    }
+
+    private final class Pooled
+            extends XByteBufferInputOutputStream {
+        private final ByteBuffer buf;
+        private final Lease lease;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Pooled(final ByteBuffer buf) {
+            super(buf);
+            this.buf = buf;
+            lease = debug ? new Lease(this, buf) : null;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true))
+                return;
+            if (null != lease)
+                lease.clear();
+            release(buf);
+        }
+    }
+}
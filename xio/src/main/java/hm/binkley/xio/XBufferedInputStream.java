@@ -0,0 +1,247 @@
+package hm.binkley.xio;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static hm.binkley.xio.XSeekable.Whence.END;
+import static hm.binkley.xio.XSeekable.Whence.SET;
+
+/**
+ * {@code XBufferedInputStream} buffers another {@link XInputStream} so that
+ * small reads, especially single-byte {@link #read()}, do not each reach the
+ * underlying stream.  Reads at least as large as the buffer bypass it.
+ * <p>
+ * The buffer may be supplied, for example, a direct or pooled buffer reused
+ * across streams.  Use {@link Seekable} to buffer a seekable stream.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ * @see XBufferedOutputStream
+ */
+public class XBufferedInputStream
+        implements XInputStream {
+    /** The default buffer size, 8 KiB. */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final XInputStream in;
+    /** In read mode: position is the next byte, limit the end of data. */
+    private final ByteBuffer buf;
+
+    /**
+     * Constructs a new {@code XBufferedInputStream} for the given input stream
+     * with a {@link #DEFAULT_BUFFER_SIZE default size} heap buffer.
+     *
+     * @param in the input stream, never missing
+     */
+    public XBufferedInputStream(@Nonnull final XInputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new {@code XBufferedInputStream} for the given input stream
+     * with a heap buffer of the given size.
+     *
+     * @param in the input stream, never missing
+     * @param size the buffer size, positive
+     */
+    public XBufferedInputStream(@Nonnull final XInputStream in,
+            final int size) {
+        this(in, ByteBuffer.allocate(size));
+    }
+
+    /**
+     * Constructs a new {@code XBufferedInputStream} for the given input stream
+     * with the given buffer.  The stream uses the whole capacity of
+     * <var>buf</var> and discards its contents.
+     *
+     * @param in the input stream, never missing
+     * @param buf the buffer, never missing
+     */
+    public XBufferedInputStream(@Nonnull final XInputStream in,
+            @Nonnull final ByteBuffer buf) {
+        if (0 == buf.capacity())
+            throw new IllegalArgumentException("Empty buffer");
+        this.in = in;
+        this.buf = buf;
+        invalidate();
+    }
+
+    @Override
+    public int read()
+            throws IOException {
+        if (!buf.hasRemaining() && -1 == fill())
+            return -1;
+        return buf.get() & 0xFF;
+    }
+
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len)
+            throws IOException {
+        if (0 > off || 0 > len || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        if (0 == len)
+            return 0;
+        if (!buf.hasRemaining()) {
+            if (len >= buf.capacity()) {
+                invalidate(); // Buffered bytes no longer precede the position
+                return in.read(b, off, len);
+            }
+            if (-1 == fill())
+                return -1;
+        }
+        final int n = Math.min(len, buf.remaining());
+        buf.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int read(@Nonnull final ByteBuffer dst)
+            throws IOException {
+        final int len = dst.remaining();
+        if (0 == len)
+            return 0;
+        if (!buf.hasRemaining()) {
+            if (len >= buf.capacity()) {
+                invalidate();
+                return in.read(dst);
+            }
+            if (-1 == fill())
+                return -1;
+        }
+        final int n = Math.min(len, buf.remaining());
+        final int limit = buf.limit();
+        buf.limit(buf.position() + n);
+        dst.put(buf);
+        buf.limit(limit);
+        return n;
+    }
+
+    @Override
+    public long skip(final long n)
+            throws IOException {
+        if (0 >= n)
+            return 0;
+        final int buffered = (int) Math.min(n, buf.remaining());
+        if (n == buffered) {
+            buf.position(buf.position() + buffered);
+            return buffered;
+        }
+        invalidate();
+        return buffered + in.skip(n - buffered);
+    }
+
+    @Override
+    public int available()
+            throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE,
+                (long) buf.remaining() + in.available());
+    }
+
+    @Override
+    public void close()
+            throws IOException {
+        invalidate();
+        in.close();
+    }
+
+    /** Refills the empty buffer, returning the bytes read or -1 at end. */
+    private int fill()
+            throws IOException {
+        buf.clear();
+        int n;
+        do
+            n = in.read(buf);
+        while (0 == n);
+        buf.flip();
+        return n;
+    }
+
+    /** Discards buffered bytes. */
+    private void invalidate() {
+        buf.clear();
+        buf.limit(0);
+    }
+
+    /**
+     * {@code Seekable} buffers a seekable input stream and is itself
+     * seekable.  Seeking within the buffered bytes moves within the buffer,
+     * other seeks discard the buffer and seek the underlying stream.  Marks
+     * are stream positions, so {@link #reset()} seeks in the same way.
+     */
+    public static class Seekable
+            extends XBufferedInputStream
+            implements XSeekable {
+        private final XSeekable seekable;
+        private long mark = -1;
+
+        /**
+         * Constructs a new {@code Seekable} with a {@link #DEFAULT_BUFFER_SIZE
+         * default size} heap buffer.
+         *
+         * @param in the seekable input stream, never missing
+         * @param <S> the seekable input stream type
+         */
+        public <S extends XInputStream & XSeekable> Seekable(
+                @Nonnull final S in) {
+            this(in, ByteBuffer.allocate(DEFAULT_BUFFER_SIZE));
+        }
+
+        /**
+         * Constructs a new {@code Seekable} with the given buffer.
+         *
+         * @param in the seekable input stream, never missing
+         * @param buf the buffer, never missing
+         * @param <S> the seekable input stream type
+         */
+        public <S extends XInputStream & XSeekable> Seekable(
+                @Nonnull final S in, @Nonnull final ByteBuffer buf) {
+            super(in, buf);
+            seekable = in;
+        }
+
+        @Override
+        public long seek(final long offset, @Nonnull final Whence whence)
+                throws IOException {
+            final ByteBuffer buf = super.buf;
+            if (END == whence) {
+                super.invalidate();
+                return seekable.seek(offset, END);
+            }
+            final long end = seekable.tell();
+            final long to = SET == whence ? offset : end - buf.remaining() + offset;
+            final long start = end - buf.limit();
+            if (start <= to && to <= end) {
+                buf.position((int) (to - start));
+                return to;
+            }
+            super.invalidate();
+            return seekable.seek(to, SET);
+        }
+
+        /** Gets the stream size leaving the stream position unchanged. */
+        @Override
+        public long size()
+                throws IOException {
+            final long at = seekable.tell();
+            final long size = seekable.size();
+            seekable.seek(at, SET);
+            return size;
+        }
+
+        @Override
+        public long tell()
+                throws IOException {
+            return seekable.tell() - super.buf.remaining();
+        }
+
+        @Override
+        public long mark() {
+            return mark;
+        }
+
+        @Override
+        public void mark(final long mark) {
+            this.mark = mark;
+        }
+    }
+}
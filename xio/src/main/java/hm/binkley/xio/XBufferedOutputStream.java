@@ -0,0 +1,205 @@
+package hm.binkley.xio;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static hm.binkley.xio.XSeekable.Whence.SET;
+
+/**
+ * {@code XBufferedOutputStream} buffers another {@link XOutputStream} so that
+ * small writes, especially single-byte {@link #write(int)}, do not each reach
+ * the underlying stream.  Writes at least as large as the buffer bypass it.
+ * <p>
+ * The buffer may be supplied, for example, a direct or pooled buffer reused
+ * across streams.  Use {@link Seekable} to buffer a seekable stream.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ * @see XBufferedInputStream
+ */
+public class XBufferedOutputStream
+        implements XOutputStream {
+    /** The default buffer size, 8 KiB. */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final XOutputStream out;
+    /** In write mode: position is the count of pending bytes. */
+    private final ByteBuffer buf;
+
+    /**
+     * Constructs a new {@code XBufferedOutputStream} for the given output
+     * stream with a {@link #DEFAULT_BUFFER_SIZE default size} heap buffer.
+     *
+     * @param out the output stream, never missing
+     */
+    public XBufferedOutputStream(@Nonnull final XOutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new {@code XBufferedOutputStream} for the given output
+     * stream with a heap buffer of the given size.
+     *
+     * @param out the output stream, never missing
+     * @param size the buffer size, positive
+     */
+    public XBufferedOutputStream(@Nonnull final XOutputStream out,
+            final int size) {
+        this(out, ByteBuffer.allocate(size));
+    }
+
+    /**
+     * Constructs a new {@code XBufferedOutputStream} for the given output
+     * stream with the given buffer.  The stream uses the whole capacity of
+     * <var>buf</var> and discards its contents.
+     *
+     * @param out the output stream, never missing
+     * @param buf the buffer, never missing
+     */
+    public XBufferedOutputStream(@Nonnull final XOutputStream out,
+            @Nonnull final ByteBuffer buf) {
+        if (0 == buf.capacity())
+            throw new IllegalArgumentException("Empty buffer");
+        this.out = out;
+        this.buf = buf;
+        buf.clear();
+    }
+
+    @Override
+    public void write(final int b)
+            throws IOException {
+        if (!buf.hasRemaining())
+            drain();
+        buf.put((byte) b);
+    }
+
+    @Override
+    public void write(@Nonnull final byte[] b, final int off, final int len)
+            throws IOException {
+        if (0 > off || 0 > len || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        if (len >= buf.capacity()) {
+            drain();
+            out.write(b, off, len);
+            return;
+        }
+        if (len > buf.remaining())
+            drain();
+        buf.put(b, off, len);
+    }
+
+    @Override
+    public int write(@Nonnull final ByteBuffer src)
+            throws IOException {
+        final int len = src.remaining();
+        if (len >= buf.capacity()) {
+            drain();
+            return out.write(src);
+        }
+        if (len > buf.remaining())
+            drain();
+        buf.put(src);
+        return len;
+    }
+
+    @Override
+    public void flush()
+            throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close()
+            throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    /** Writes pending bytes to the underlying stream without flushing it. */
+    private void drain()
+            throws IOException {
+        if (0 == buf.position())
+            return;
+        buf.flip();
+        try {
+            out.write(buf);
+        } finally {
+            buf.clear();
+        }
+    }
+
+    /**
+     * {@code Seekable} buffers a seekable output stream and is itself
+     * seekable.  Seeking first writes pending bytes to the underlying stream.
+     * Marks are stream positions, so {@link #reset()} seeks in the same way.
+     */
+    public static class Seekable
+            extends XBufferedOutputStream
+            implements XSeekable {
+        private final XSeekable seekable;
+        private long mark = -1;
+
+        /**
+         * Constructs a new {@code Seekable} with a {@link #DEFAULT_BUFFER_SIZE
+         * default size} heap buffer.
+         *
+         * @param out the seekable output stream, never missing
+         * @param <S> the seekable output stream type
+         */
+        public <S extends XOutputStream & XSeekable> Seekable(
+                @Nonnull final S out) {
+            this(out, ByteBuffer.allocate(DEFAULT_BUFFER_SIZE));
+        }
+
+        /**
+         * Constructs a new {@code Seekable} with the given buffer.
+         *
+         * @param out the seekable output stream, never missing
+         * @param buf the buffer, never missing
+         * @param <S> the seekable output stream type
+         */
+        public <S extends XOutputStream & XSeekable> Seekable(
+                @Nonnull final S out, @Nonnull final ByteBuffer buf) {
+            super(out, buf);
+            seekable = out;
+        }
+
+        @Override
+        public long seek(final long offset, @Nonnull final Whence whence)
+                throws IOException {
+            super.drain();
+            return seekable.seek(offset, whence);
+        }
+
+        /** Gets the stream size leaving the stream position unchanged. */
+        @Override
+        public long size()
+                throws IOException {
+            super.drain();
+            final long at = seekable.tell();
+            final long size = seekable.size();
+            seekable.seek(at, SET);
+            return size;
+        }
+
+        @Override
+        public long tell()
+                throws IOException {
+            return seekable.tell() + super.buf.position();
+        }
+
+        @Override
+        public long mark() {
+            return mark;
+        }
+
+        @Override
+        public void mark(final long mark) {
+            this.mark = mark;
+        }
+    }
+}
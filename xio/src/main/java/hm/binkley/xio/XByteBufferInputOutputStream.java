@@ -29,7 +29,49 @@ public class XByteBufferInputOutputStream
 
     @Override
     public int read() {
-        return buf.get();
+        return buf.hasRemaining() ? buf.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len) {
+        if (0 > off || 0 > len || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        if (0 == len)
+            return 0;
+        final int n = Math.min(len, buf.remaining());
+        if (0 == n)
+            return -1;
+        buf.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int read(@Nonnull final ByteBuffer dst) {
+        final int len = dst.remaining();
+        if (0 == len)
+            return 0;
+        final int n = Math.min(len, buf.remaining());
+        if (0 == n)
+            return -1;
+        final ByteBuffer src = buf.duplicate();
+        src.limit(src.position() + n);
+        dst.put(src);
+        buf.position(buf.position() + n);
+        return n;
+    }
+
+    @Override
+    public long skip(final long n) {
+        if (0 >= n)
+            return 0;
+        final int skipped = (int) Math.min(n, buf.remaining());
+        buf.position(buf.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buf.remaining();
     }
 
     @Override
@@ -44,6 +86,13 @@ public class XByteBufferInputOutputStream
         buf.put(b, off, len);
     }
 
+    @Override
+    public int write(@Nonnull final ByteBuffer src) {
+        final int len = src.remaining();
+        buf.put(src);
+        return len;
+    }
+
     @Override
     public long mark() {
         return mark;
@@ -0,0 +1,253 @@
+package hm.binkley.xio;
+
+import hm.binkley.util.Bug;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+
+/**
+ * {@code XChannelInputOutputStream} is a blend of {@link XInputOutputStream}
+ * and {@link XSeekable} over a file channel.  Reads and writes are
+ * positional, so the stream keeps its own position independent of the channel
+ * position.
+ * <p>
+ * Use {@link #transferTo(XOutputStream)} and {@link #transferFrom(XInputStream)}
+ * to copy between streams.  When both ends are channel streams, copying uses
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)},
+ * which the operating system may perform without copying through user space.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public class XChannelInputOutputStream
+        implements XInputOutputStream, XSeekable {
+    /** The buffer size for transfers with streams which are not channels. */
+    private static final int TRANSFER_BUFFER_SIZE = 64 << 10;
+
+    private final FileChannel channel;
+    private final ByteBuffer one = ByteBuffer.allocate(1);
+    private long position;
+    private long mark = -1;
+
+    /**
+     * Constructs a new {@code XChannelInputOutputStream} for the given file
+     * channel, starting at the current channel position.  The stream owns the
+     * channel and closes it on {@link #close()}.
+     *
+     * @param channel the file channel, never missing
+     *
+     * @throws IOException if the channel position cannot be read
+     */
+    public XChannelInputOutputStream(@Nonnull final FileChannel channel)
+            throws IOException {
+        this.channel = channel;
+        position = channel.position();
+    }
+
+    /**
+     * Opens the file at <var>path</var> with the given <var>options</var>.
+     *
+     * @param path the file path, never missing
+     * @param options the open options
+     *
+     * @return the new stream, never missing
+     *
+     * @throws IOException if the file cannot be opened
+     * @see FileChannel#open(Path, OpenOption...)
+     */
+    @Nonnull
+    public static XChannelInputOutputStream open(@Nonnull final Path path,
+            final OpenOption... options)
+            throws IOException {
+        return new XChannelInputOutputStream(FileChannel.open(path, options));
+    }
+
+    @Override
+    public int read()
+            throws IOException {
+        one.clear();
+        return -1 == read(one) ? -1 : one.get(0) & 0xFF;
+    }
+
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len)
+            throws IOException {
+        if (0 > off || 0 > len || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        return 0 == len ? 0 : read(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public int read(@Nonnull final ByteBuffer dst)
+            throws IOException {
+        final int n = channel.read(dst, position);
+        if (0 < n)
+            position += n;
+        return n;
+    }
+
+    @Override
+    public void write(final int b)
+            throws IOException {
+        one.clear();
+        one.put(0, (byte) b);
+        write(one);
+    }
+
+    @Override
+    public void write(@Nonnull final byte[] b, final int off, final int len)
+            throws IOException {
+        if (0 > off || 0 > len || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        write(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public int write(@Nonnull final ByteBuffer src)
+            throws IOException {
+        final int len = src.remaining();
+        while (src.hasRemaining())
+            position += channel.write(src, position);
+        return len;
+    }
+
+    /**
+     * Copies the rest of this stream to <var>out</var>, leaving this stream at
+     * its end.  When <var>out</var> is also a channel stream the operating
+     * system may copy directly between the files.
+     *
+     * @param out the output stream, never missing
+     *
+     * @return the number of bytes copied
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public long transferTo(@Nonnull final XOutputStream out)
+            throws IOException {
+        if (out instanceof XChannelInputOutputStream) {
+            final XChannelInputOutputStream to = (XChannelInputOutputStream) out;
+            final long count = Math.max(0, channel.size() - position);
+            // transferTo writes at the target channel position
+            to.channel.position(to.position);
+            long done = 0;
+            while (done < count) {
+                final long n = channel.transferTo(position, count - done,
+                        to.channel);
+                if (0 >= n)
+                    break;
+                position += n;
+                to.position += n;
+                done += n;
+            }
+            return done;
+        }
+        // Heap, so default stream methods use the array in one call
+        final ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+        long done = 0;
+        while (-1 != read(buffer)) {
+            buffer.flip();
+            done += out.write(buffer);
+            buffer.clear();
+        }
+        return done;
+    }
+
+    /**
+     * Copies the rest of <var>in</var> into this stream at its position,
+     * leaving <var>in</var> at its end.  When <var>in</var> is also a channel
+     * stream the operating system may copy directly between the files.
+     *
+     * @param in the input stream, never missing
+     *
+     * @return the number of bytes copied
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public long transferFrom(@Nonnull final XInputStream in)
+            throws IOException {
+        if (in instanceof XChannelInputOutputStream)
+            return ((XChannelInputOutputStream) in).transferTo(this);
+        // Heap, so default stream methods use the array in one call
+        final ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+        long done = 0;
+        while (-1 != in.read(buffer)) {
+            buffer.flip();
+            done += write(buffer);
+            buffer.clear();
+        }
+        return done;
+    }
+
+    @Override
+    public long skip(final long n)
+            throws IOException {
+        if (0 >= n)
+            return 0;
+        final long skipped = Math.max(0, Math.min(n, channel.size() - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available()
+            throws IOException {
+        return (int) Math.max(0,
+                Math.min(Integer.MAX_VALUE, channel.size() - position));
+    }
+
+    @Override
+    public long mark() {
+        return mark;
+    }
+
+    @Override
+    public void mark(final long mark) {
+        this.mark = mark;
+    }
+
+    @Override
+    public long seek(final long offset, @Nonnull final Whence whence)
+            throws IOException {
+        final long size = channel.size();
+        final long to;
+        switch (whence) {
+        case SET:
+            to = offset;
+            break;
+        case CUR:
+            to = offset + position;
+            break;
+        case END:
+            to = offset + size;
+            break;
+        default:
+            throw new Bug("Missing case: " + whence);
+        }
+        if (0 > to || size < to)
+            throw new IOException(
+                    "Seek out of range [0, " + size + "]: " + to);
+        position = to;
+        return position;
+    }
+
+    /** Gets the file size without moving the stream position. */
+    @Override
+    public long size()
+            throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public long tell() {
+        return position;
+    }
+
+    @Override
+    public void close()
+            throws IOException {
+        channel.close();
+    }
+}
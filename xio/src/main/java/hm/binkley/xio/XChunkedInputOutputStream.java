@@ -0,0 +1,249 @@
+package hm.binkley.xio;
+
+import hm.binkley.util.Bug;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.Integer.numberOfTrailingZeros;
+
+/**
+ * {@code XChunkedInputOutputStream} is a blend of {@link XInputOutputStream}
+ * and {@link XSeekable} in memory which grows as written.  Contents are kept
+ * in fixed-size chunks, so growing adds a chunk rather than copying what is
+ * already written.  Seek back to overwrite earlier bytes, for example, to
+ * patch a length header once the body is written.
+ * <p>
+ * Use {@link #asByteBuffers()} or {@link #writeTo(XOutputStream)} to write the
+ * contents without first copying them into one array.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public class XChunkedInputOutputStream
+        implements XInputOutputStream, XSeekable {
+    /** The default chunk size, 8 KiB. */
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final List<byte[]> chunks = new ArrayList<>();
+    private final int chunkShift;
+    private final int chunkMask;
+    private long position;
+    private long size;
+    private long mark = -1;
+
+    /**
+     * Constructs a new empty {@code XChunkedInputOutputStream} with the
+     * {@link #DEFAULT_CHUNK_SIZE default chunk size}.
+     */
+    public XChunkedInputOutputStream() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a new empty {@code XChunkedInputOutputStream}.
+     *
+     * @param chunkSize the chunk size, a positive power of two
+     */
+    public XChunkedInputOutputStream(final int chunkSize) {
+        if (0 >= chunkSize || 0 != (chunkSize & chunkSize - 1))
+            throw new IllegalArgumentException(
+                    "Chunk size not a power of two: " + chunkSize);
+        chunkShift = numberOfTrailingZeros(chunkSize);
+        chunkMask = chunkSize - 1;
+    }
+
+    @Override
+    public int read() {
+        if (position >= size)
+            return -1;
+        final int b = chunk(position)[index(position)] & 0xFF;
+        ++position;
+        return b;
+    }
+
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len) {
+        if (0 > off || 0 > len || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        if (0 == len)
+            return 0;
+        final int n = (int) Math.min(len, size - position);
+        if (0 >= n)
+            return -1;
+        for (int done = 0; done < n; ) {
+            final int k = span(n - done);
+            System.arraycopy(chunk(position), index(position), b, off + done, k);
+            position += k;
+            done += k;
+        }
+        return n;
+    }
+
+    @Override
+    public int read(@Nonnull final ByteBuffer dst) {
+        final int len = dst.remaining();
+        if (0 == len)
+            return 0;
+        final int n = (int) Math.min(len, size - position);
+        if (0 >= n)
+            return -1;
+        for (int done = 0; done < n; ) {
+            final int k = span(n - done);
+            dst.put(chunk(position), index(position), k);
+            position += k;
+            done += k;
+        }
+        return n;
+    }
+
+    @Override
+    public void write(final int b) {
+        grow(position + 1);
+        chunk(position)[index(position)] = (byte) b;
+        ++position;
+    }
+
+    @Override
+    public void write(@Nonnull final byte[] b, final int off, final int len) {
+        if (0 > off || 0 > len || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        grow(position + len);
+        for (int done = 0; done < len; ) {
+            final int k = span(len - done);
+            System.arraycopy(b, off + done, chunk(position), index(position), k);
+            position += k;
+            done += k;
+        }
+    }
+
+    @Override
+    public int write(@Nonnull final ByteBuffer src) {
+        final int len = src.remaining();
+        grow(position + len);
+        for (int done = 0; done < len; ) {
+            final int k = span(len - done);
+            src.get(chunk(position), index(position), k);
+            position += k;
+            done += k;
+        }
+        return len;
+    }
+
+    /**
+     * Gets the contents as read-only buffers in order, for example, for a
+     * gathering write.  The buffers share the chunks rather than copying
+     * them, so later writes within the current size show through.
+     *
+     * @return the contents from the start to the size, never missing
+     */
+    @Nonnull
+    public ByteBuffer[] asByteBuffers() {
+        final int count = (int) ((size + chunkMask) >>> chunkShift);
+        final ByteBuffer[] buffers = new ByteBuffer[count];
+        for (int i = 0; i < count; ++i) {
+            final long start = (long) i << chunkShift;
+            buffers[i] = ByteBuffer.wrap(chunks.get(i), 0,
+                    (int) Math.min(chunkMask + 1, size - start))
+                    .asReadOnlyBuffer();
+        }
+        return buffers;
+    }
+
+    /**
+     * Writes the whole contents to <var>out</var> with a single gathering
+     * write, leaving this stream position unchanged.
+     *
+     * @param out the output stream, never missing
+     *
+     * @return the number of bytes written
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public long writeTo(@Nonnull final XOutputStream out)
+            throws IOException {
+        return out.write(asByteBuffers());
+    }
+
+    @Override
+    public long skip(final long n) {
+        if (0 >= n)
+            return 0;
+        final long skipped = Math.max(0, Math.min(n, size - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size - position));
+    }
+
+    @Override
+    public long mark() {
+        return mark;
+    }
+
+    @Override
+    public void mark(final long mark) {
+        this.mark = mark;
+    }
+
+    @Override
+    public long seek(final long offset, @Nonnull final Whence whence)
+            throws IOException {
+        final long to;
+        switch (whence) {
+        case SET:
+            to = offset;
+            break;
+        case CUR:
+            to = offset + position;
+            break;
+        case END:
+            to = offset + size;
+            break;
+        default:
+            throw new Bug("Missing case: " + whence);
+        }
+        if (0 > to || size < to)
+            throw new IOException(
+                    "Seek out of range [0, " + size + "]: " + to);
+        position = to;
+        return position;
+    }
+
+    /** Gets the size without moving the stream position. */
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long tell() {
+        return position;
+    }
+
+    /** Adds chunks as needed to hold <var>end</var> bytes. */
+    private void grow(final long end) {
+        while ((long) chunks.size() << chunkShift < end)
+            chunks.add(new byte[chunkMask + 1]);
+        if (end > size)
+            size = end;
+    }
+
+    private byte[] chunk(final long at) {
+        return chunks.get((int) (at >>> chunkShift));
+    }
+
+    private int index(final long at) {
+        return (int) at & chunkMask;
+    }
+
+    /** Gets how many of <var>len</var> bytes fit in the current chunk. */
+    private int span(final int len) {
+        return Math.min(len, chunkMask + 1 - index(position));
+    }
+}
@@ -4,6 +4,8 @@ import javax.annotation.Nonnull;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 
 /**
  * {@code XInputStream} is a minimal rewrite of {@link InputStream}.
@@ -20,6 +22,14 @@ public interface XInputStream
      */
     int MAX_SKIP_BUFFER_SIZE = 2048;
 
+    /**
+     * MAX_READ_BUFFER_SIZE is used to determine the maximum temporary buffer
+     * size to use when reading into buffers without a backing array.
+     *
+     * @see #read(ByteBuffer)
+     */
+    int MAX_READ_BUFFER_SIZE = 8192;
+
     /**
      * Creates a new JDK {@code InputStream} forwarding all calls to this {@code
      * XInputStream}.
@@ -109,17 +119,15 @@ public interface XInputStream
      * In every case, elements {@code b[0]} through {@code b[off]} and elements
      * {@code b[off+len]} through {@code b[b.length-1]} are unaffected.
      * <p>
-     * The {@code read(b, off, len)} method for class {@code InputStream} simply
-     * calls the method {@code read()} repeatedly. If the first such call
-     * results in an {@code IOException}, that exception is returned from the
-     * call to the {@code read(b, off, len)} method.  If any subsequent call to
-     * {@code read()} results in a {@code IOException}, the exception is caught
-     * and treated as if it were end of file; the bytes read up to that point
-     * are stored into {@code b} and the number of bytes read before the
-     * exception occurred is returned. The default implementation of this method
-     * blocks until the requested amount of input data {@code len} has been
-     * read, end of file is detected, or an exception is thrown. Subclasses are
-     * encouraged to provide a more efficient implementation of this method.
+     * The default {@code read(b, off, len)} method simply calls the method
+     * {@code read()} repeatedly.  Unlike {@code InputStream}, if any such call
+     * results in an {@code IOException}, that exception is thrown from the
+     * call to the {@code read(b, off, len)} method rather than treated as end
+     * of file, so failures are not mistaken for short reads.  The default
+     * implementation of this method blocks until the requested amount of input
+     * data {@code len} has been read, end of file is detected, or an exception
+     * is thrown.  Implementations should provide a more efficient
+     * implementation of this method; the bulk and buffer methods rely on it.
      *
      * @param b the buffer into which the data is read.
      * @param off the start offset in array {@code b} at which the data is
@@ -150,18 +158,109 @@ public interface XInputStream
         b[off] = (byte) c;
 
         int i = 1;
-        try {
-            for (; i < len; i++) {
-                c = read();
-                if (-1 == c)
-                    break;
-                b[off + i] = (byte) c;
-            }
-        } catch (final IOException ignored) {
+        for (; i < len; i++) {
+            c = read();
+            if (-1 == c)
+                break;
+            b[off + i] = (byte) c;
         }
         return i;
     }
 
+    /**
+     * Reads a sequence of bytes from this stream into the given buffer, as for
+     * {@link java.nio.channels.ReadableByteChannel#read(ByteBuffer)}.  An
+     * attempt is made to read up to {@code dst.remaining()} bytes; the buffer
+     * position advances by the number of bytes read.
+     * <p>
+     * The default implementation reads directly into the backing array of
+     * heap buffers with a single call to {@link #read(byte[], int, int)}, and
+     * through a bounded temporary array otherwise.
+     *
+     * @param dst the buffer into which bytes are read, never missing
+     *
+     * @return the number of bytes read, possibly zero, or {@code -1} if the
+     * end of the stream has been reached
+     *
+     * @throws IOException if an I/O error occurs.
+     * @throws java.nio.ReadOnlyBufferException if {@code dst} is read-only
+     */
+    default int read(@Nonnull final ByteBuffer dst)
+            throws IOException {
+        final int len = dst.remaining();
+        if (0 == len)
+            return 0;
+        if (dst.hasArray()) {
+            final int position = dst.position();
+            final int n = read(dst.array(), dst.arrayOffset() + position, len);
+            if (0 < n)
+                dst.position(position + n);
+            return n;
+        }
+        if (dst.isReadOnly())
+            throw new ReadOnlyBufferException();
+        final byte[] b = new byte[Math.min(MAX_READ_BUFFER_SIZE, len)];
+        final int n = read(b, 0, b.length);
+        if (0 < n)
+            dst.put(b, 0, n);
+        return n;
+    }
+
+    /**
+     * Reads a sequence of bytes from this stream into the given buffers in
+     * order, as for {@link java.nio.channels.ScatteringByteChannel#read(ByteBuffer[])}.
+     *
+     * @param dsts the buffers into which bytes are read, never missing
+     *
+     * @return the number of bytes read, possibly zero, or {@code -1} if the
+     * end of the stream has been reached
+     *
+     * @throws IOException if an I/O error occurs.
+     * @see #read(ByteBuffer[], int, int)
+     */
+    default long read(@Nonnull final ByteBuffer[] dsts)
+            throws IOException {
+        return read(dsts, 0, dsts.length);
+    }
+
+    /**
+     * Reads a sequence of bytes from this stream into a subsequence of the
+     * given buffers, as for {@link java.nio.channels.ScatteringByteChannel#read(ByteBuffer[],
+     * int, int)}.  Each buffer is filled before moving to the next; reading
+     * stops early when a buffer is not filled, as the next read might block.
+     *
+     * @param dsts the buffers into which bytes are read, never missing
+     * @param offset the offset within {@code dsts} of the first buffer
+     * @param length the maximum number of buffers to use
+     *
+     * @return the number of bytes read, possibly zero, or {@code -1} if the
+     * end of the stream has been reached
+     *
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length}
+     * do not fit {@code dsts}
+     */
+    default long read(@Nonnull final ByteBuffer[] dsts, final int offset,
+            final int length)
+            throws IOException {
+        if (0 > offset || 0 > length || length > dsts.length - offset)
+            throw new IndexOutOfBoundsException();
+        long total = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final ByteBuffer dst = dsts[i];
+            final int len = dst.remaining();
+            if (0 == len)
+                continue;
+            final int n = read(dst);
+            if (-1 == n)
+                return 0 == total ? -1 : total;
+            total += n;
+            if (n < len)
+                break;
+        }
+        return total;
+    }
+
     /**
      * Skips over and discards {@code n} bytes of data from this input stream.
      * The {@code skip} method may, for a variety of reasons, end up skipping
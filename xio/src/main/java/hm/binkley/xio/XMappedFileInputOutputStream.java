@@ -0,0 +1,322 @@
+package hm.binkley.xio;
+
+import hm.binkley.util.Bug;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * {@code XMappedFileInputOutputStream} is a blend of {@link XInputOutputStream}
+ * and {@link XSeekable} over a memory-mapped file of any size.  The file is
+ * mapped in fixed-size windows, and positions are {@code long}s.  Seeking only
+ * moves the position; the window is remapped when next read or written.
+ * <p>
+ * In {@link MapMode#READ_WRITE} mode writes past the end extend the file.  As
+ * writing grows the file a window at a time, closing the stream truncates the
+ * file to the bytes actually written.  Reading never grows the file.  In other modes the stream cannot grow.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public class XMappedFileInputOutputStream
+        implements XInputOutputStream, XSeekable {
+    /** The default window size, 64 MiB. */
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    private final FileChannel channel;
+    private final MapMode mode;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private long size;
+    private long mark = -1;
+
+    /**
+     * Constructs a new {@code XMappedFileInputOutputStream} for the given file
+     * channel with the {@link #DEFAULT_WINDOW_SIZE default window size}.
+     *
+     * @param channel the file channel, never missing
+     * @param mode the mapping mode, never missing
+     *
+     * @throws IOException if the channel size cannot be read
+     */
+    public XMappedFileInputOutputStream(@Nonnull final FileChannel channel,
+            @Nonnull final MapMode mode)
+            throws IOException {
+        this(channel, mode, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a new {@code XMappedFileInputOutputStream} for the given file
+     * channel.  The stream owns the channel and closes it on {@link #close()}.
+     *
+     * @param channel the file channel, never missing
+     * @param mode the mapping mode, never missing
+     * @param windowSize the size of each mapping, positive
+     *
+     * @throws IOException if the channel size cannot be read
+     */
+    public XMappedFileInputOutputStream(@Nonnull final FileChannel channel,
+            @Nonnull final MapMode mode, final int windowSize)
+            throws IOException {
+        if (0 >= windowSize)
+            throw new IllegalArgumentException(
+                    "Non-positive window size: " + windowSize);
+        this.channel = channel;
+        this.mode = mode;
+        this.windowSize = windowSize;
+        size = channel.size();
+    }
+
+    /**
+     * Opens the file at <var>path</var> for mapping, creating it if missing
+     * for {@link MapMode#READ_WRITE} mode.
+     *
+     * @param path the file path, never missing
+     * @param mode the mapping mode, never missing
+     *
+     * @return the new stream, never missing
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    @Nonnull
+    public static XMappedFileInputOutputStream open(@Nonnull final Path path,
+            @Nonnull final MapMode mode)
+            throws IOException {
+        return new XMappedFileInputOutputStream(READ_ONLY == mode
+                ? FileChannel.open(path, READ)
+                : READ_WRITE == mode
+                        ? FileChannel.open(path, READ, WRITE, CREATE)
+                        : FileChannel.open(path, READ, WRITE), mode);
+    }
+
+    @Override
+    public int read()
+            throws IOException {
+        if (position >= size)
+            return -1;
+        final int b = window(position, false).get((int) (position - windowStart)) & 0xFF;
+        ++position;
+        return b;
+    }
+
+    @Override
+    public int read(@Nonnull final byte[] b, final int off, final int len)
+            throws IOException {
+        if (0 > off || 0 > len || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        if (0 == len)
+            return 0;
+        final int n = (int) Math.min(len, size - position);
+        if (0 >= n)
+            return -1;
+        for (int done = 0; done < n; ) {
+            final ByteBuffer from = region(n - done, false);
+            final int k = from.remaining();
+            from.get(b, off + done, k);
+            position += k;
+            done += k;
+        }
+        return n;
+    }
+
+    /** Copies directly from the mapped file into <var>dst</var>. */
+    @Override
+    public int read(@Nonnull final ByteBuffer dst)
+            throws IOException {
+        final int len = dst.remaining();
+        if (0 == len)
+            return 0;
+        final int n = (int) Math.min(len, size - position);
+        if (0 >= n)
+            return -1;
+        for (int done = 0; done < n; ) {
+            final ByteBuffer from = region(n - done, false);
+            final int k = from.remaining();
+            dst.put(from);
+            position += k;
+            done += k;
+        }
+        return n;
+    }
+
+    @Override
+    public void write(final int b)
+            throws IOException {
+        writable(1);
+        window(position, true).put((int) (position - windowStart), (byte) b);
+        grow(++position);
+    }
+
+    @Override
+    public void write(@Nonnull final byte[] b, final int off, final int len)
+            throws IOException {
+        if (0 > off || 0 > len || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        writable(len);
+        for (int done = 0; done < len; ) {
+            final ByteBuffer to = region(len - done, true);
+            final int k = to.remaining();
+            to.put(b, off + done, k);
+            grow(position += k);
+            done += k;
+        }
+    }
+
+    /** Copies directly from <var>src</var> into the mapped file. */
+    @Override
+    public int write(@Nonnull final ByteBuffer src)
+            throws IOException {
+        final int len = src.remaining();
+        writable(len);
+        final int limit = src.limit();
+        try {
+            for (int done = 0; done < len; ) {
+                final ByteBuffer to = region(len - done, true);
+                final int k = to.remaining();
+                src.limit(src.position() + k);
+                to.put(src);
+                grow(position += k);
+                done += k;
+            }
+        } finally {
+            src.limit(limit);
+        }
+        return len;
+    }
+
+    @Override
+    public long skip(final long n) {
+        if (0 >= n)
+            return 0;
+        final long skipped = Math.max(0, Math.min(n, size - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size - position));
+    }
+
+    @Override
+    public long mark() {
+        return mark;
+    }
+
+    @Override
+    public void mark(final long mark) {
+        this.mark = mark;
+    }
+
+    @Override
+    public long seek(final long offset, @Nonnull final Whence whence)
+            throws IOException {
+        final long to;
+        switch (whence) {
+        case SET:
+            to = offset;
+            break;
+        case CUR:
+            to = offset + position;
+            break;
+        case END:
+            to = offset + size;
+            break;
+        default:
+            throw new Bug("Missing case: " + whence);
+        }
+        if (0 > to || size < to)
+            throw new IOException(
+                    "Seek out of range [0, " + size + "]: " + to);
+        position = to;
+        return position;
+    }
+
+    /** Gets the file size without moving the stream position. */
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long tell() {
+        return position;
+    }
+
+    /**
+     * Closes the underlying channel, first truncating the file to the bytes
+     * written if mapping extended it.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close()
+            throws IOException {
+        window = null;
+        try {
+            if (READ_WRITE == mode && channel.size() > size)
+                channel.truncate(size);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writable(final int len)
+            throws IOException {
+        if (READ_ONLY == mode)
+            throw new IOException("Read-only mapping");
+        if (READ_WRITE != mode && position + len > size)
+            throw new IOException(
+                    "Cannot extend file in " + mode + " mode");
+    }
+
+    private void grow(final long end) {
+        if (end > size)
+            size = end;
+    }
+
+    /**
+     * Gets the mapped region starting at the current position, at most
+     * <var>len</var> bytes and not past the current window.
+     */
+    private ByteBuffer region(final int len, final boolean writing)
+            throws IOException {
+        final MappedByteBuffer mapped = window(position, writing);
+        final int index = (int) (position - windowStart);
+        final ByteBuffer region = mapped.duplicate();
+        region.position(index);
+        region.limit(index + Math.min(len, mapped.capacity() - index));
+        return region;
+    }
+
+    /**
+     * Maps the window holding <var>at</var>.  Only writes in {@link
+     * MapMode#READ_WRITE} mode map a full window, extending the file; reads
+     * map no further than the current size.
+     */
+    private MappedByteBuffer window(final long at, final boolean writing)
+            throws IOException {
+        if (null != window && at >= windowStart
+                && at < windowStart + window.capacity())
+            return window;
+        final long start = at - at % windowSize;
+        final long length = writing && READ_WRITE == mode
+                ? windowSize
+                : Math.min(windowSize, size - start);
+        window = channel.map(mode, start, length);
+        windowStart = start;
+        return window;
+    }
+}
@@ -5,6 +5,7 @@ import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 /**
  * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
@@ -12,6 +13,14 @@ import java.io.OutputStream;
  */
 public interface XOutputStream
         extends Closeable, Flushable {
+    /**
+     * MAX_WRITE_BUFFER_SIZE is used to determine the maximum temporary buffer size to use when
+     * writing from buffers without a backing array.
+     *
+     * @see #write(ByteBuffer)
+     */
+    int MAX_WRITE_BUFFER_SIZE = 8192;
+
     /**
      * Creates a JDK {@code OutputStream} implementation forwarding all calls to this {@code
      * XOutputStream}.
@@ -81,6 +90,83 @@ public interface XOutputStream
             write(b[off + i]);
     }
 
+    /**
+     * Writes the remaining bytes of the given buffer to this output stream, as
+     * for {@link java.nio.channels.WritableByteChannel#write(ByteBuffer)}.  As
+     * for other output stream writes, all remaining bytes are written; the
+     * buffer position advances to its limit.
+     * <p>
+     * The default implementation writes directly from the backing array of
+     * heap buffers with a single call to {@link #write(byte[], int, int)}, and
+     * through a bounded temporary array otherwise.
+     *
+     * @param src the buffer from which bytes are written, never missing
+     *
+     * @return the number of bytes written
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    default int write(@Nonnull final ByteBuffer src)
+            throws IOException {
+        final int len = src.remaining();
+        if (0 == len)
+            return 0;
+        if (src.hasArray()) {
+            final int position = src.position();
+            write(src.array(), src.arrayOffset() + position, len);
+            src.position(position + len);
+            return len;
+        }
+        final byte[] b = new byte[Math.min(MAX_WRITE_BUFFER_SIZE, len)];
+        while (src.hasRemaining()) {
+            final int n = Math.min(b.length, src.remaining());
+            src.get(b, 0, n);
+            write(b, 0, n);
+        }
+        return len;
+    }
+
+    /**
+     * Writes the remaining bytes of the given buffers in order to this output
+     * stream, as for {@link java.nio.channels.GatheringByteChannel#write(ByteBuffer[])}.
+     *
+     * @param srcs the buffers from which bytes are written, never missing
+     *
+     * @return the number of bytes written
+     *
+     * @throws IOException if an I/O error occurs.
+     * @see #write(ByteBuffer[], int, int)
+     */
+    default long write(@Nonnull final ByteBuffer[] srcs)
+            throws IOException {
+        return write(srcs, 0, srcs.length);
+    }
+
+    /**
+     * Writes the remaining bytes of a subsequence of the given buffers in order
+     * to this output stream, as for {@link java.nio.channels.GatheringByteChannel#write(ByteBuffer[],
+     * int, int)}.
+     *
+     * @param srcs the buffers from which bytes are written, never missing
+     * @param offset the offset within {@code srcs} of the first buffer
+     * @param length the maximum number of buffers to use
+     *
+     * @return the number of bytes written
+     *
+     * @throws IOException if an I/O error occurs.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} do not fit {@code
+     * srcs}
+     */
+    default long write(@Nonnull final ByteBuffer[] srcs, final int offset, final int length)
+            throws IOException {
+        if (0 > offset || 0 > length || length > srcs.length - offset)
+            throw new IndexOutOfBoundsException();
+        long total = 0;
+        for (int i = offset; i < offset + length; i++)
+            total += write(srcs[i]);
+        return total;
+    }
+
     /**
      * Flushes this output stream and forces any buffered output bytes to be written out. The
      * general contract of {@code flush} is that calling it is an indication that, if any bytes
@@ -0,0 +1,88 @@
+package hm.binkley.xio;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code XBufferPoolTest} tests {@link XBufferPool}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class XBufferPoolTest {
+    private final XBufferPool pool = new XBufferPool(16, 64, 4, true);
+
+    @Test
+    public void shouldRoundUpToSizeClass() {
+        final ByteBuffer buf = pool.acquire(20);
+
+        assertThat(buf.isDirect(), is(true));
+        assertThat(buf.capacity(), is(equalTo(32)));
+        assertThat(buf.limit(), is(equalTo(20)));
+    }
+
+    @Test
+    public void shouldReuseReleased() {
+        final ByteBuffer buf = pool.acquire(20);
+        pool.release(buf);
+
+        assertThat(pool.acquire(30), is(sameInstance(buf)));
+    }
+
+    @Test
+    public void shouldNotPoolUnpooledSizes() {
+        final ByteBuffer buf = pool.acquire(100);
+        pool.release(buf);
+
+        assertThat(pool.acquire(100), is(not(sameInstance(buf))));
+    }
+
+    @Test
+    public void shouldNotPoolForeignBuffers() {
+        final XBufferPool pool = new XBufferPool(16, 64, 4, false);
+        final ByteBuffer foreign = ByteBuffer.allocateDirect(16);
+        pool.release(foreign);
+
+        assertThat(pool.acquire(16), is(not(sameInstance(foreign))));
+        pool.release(pool.acquire(16).asReadOnlyBuffer());
+        assertThat(pool.acquire(16).isReadOnly(), is(false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldDetectDoubleRelease() {
+        final ByteBuffer buf = pool.acquire(16);
+        pool.release(buf);
+        pool.release(buf);
+    }
+
+    @Test
+    public void shouldReturnStreamBufferOnClose()
+            throws IOException {
+        final XByteBufferInputOutputStream stream = pool.open(16);
+        stream.write(3);
+        stream.close();
+        stream.close(); // Closing again does not release again
+
+        assertThat(pool.acquire(16).get(0), is(equalTo((byte) 3)));
+    }
+
+    @Test
+    public void shouldReportLeaks()
+            throws InterruptedException {
+        pool.open(16);
+        for (int i = 0; i < 100 && pool.leaks().isEmpty(); ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(pool.leaks(), hasSize(1));
+    }
+}
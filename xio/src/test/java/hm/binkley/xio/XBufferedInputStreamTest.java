@@ -0,0 +1,123 @@
+package hm.binkley.xio;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static hm.binkley.xio.XByteBufferInputOutputStreamTest.bytes;
+import static hm.binkley.xio.XSeekable.Whence.CUR;
+import static hm.binkley.xio.XSeekable.Whence.END;
+import static hm.binkley.xio.XSeekable.Whence.SET;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code XBufferedInputStreamTest} tests {@link XBufferedInputStream}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class XBufferedInputStreamTest {
+    private final XByteBufferInputOutputStream in
+            = new XByteBufferInputOutputStream(ByteBuffer.wrap(bytes(100)));
+    private final XBufferedInputStream.Seekable buffered
+            = new XBufferedInputStream.Seekable(in, ByteBuffer.allocate(16));
+
+    @Test
+    public void shouldReadThroughBuffer()
+            throws IOException {
+        assertThat(buffered.read(), is(equalTo(0)));
+        assertThat(in.tell(), is(equalTo(16L)));
+        assertThat(buffered.tell(), is(equalTo(1L)));
+        assertThat(buffered.available(), is(equalTo(99)));
+    }
+
+    @Test
+    public void shouldReadLargeBypassingBuffer()
+            throws IOException {
+        final byte[] read = new byte[32];
+
+        assertThat(buffered.read(read), is(equalTo(32)));
+        assertThat(read[31], is(equalTo((byte) 31)));
+        assertThat(buffered.tell(), is(equalTo(32L)));
+    }
+
+    @Test
+    public void shouldSeekInsideBuffer()
+            throws IOException {
+        buffered.read();
+        buffered.seek(10, SET);
+
+        assertThat(in.tell(), is(equalTo(16L))); // Did not refill
+        assertThat(buffered.read(), is(equalTo(10)));
+        buffered.seek(-5, CUR);
+        assertThat(in.tell(), is(equalTo(16L)));
+        assertThat(buffered.read(), is(equalTo(6)));
+    }
+
+    @Test
+    public void shouldSeekOutsideBuffer()
+            throws IOException {
+        buffered.read();
+        buffered.seek(40, SET);
+
+        assertThat(in.tell(), is(equalTo(40L)));
+        assertThat(buffered.read(), is(equalTo(40)));
+        buffered.seek(-2, END);
+        assertThat(buffered.read(), is(equalTo(98)));
+        assertThat(buffered.tell(), is(equalTo(99L)));
+    }
+
+    @Test
+    public void shouldSeekBackAfterSkip()
+            throws IOException {
+        buffered.read();
+        buffered.skip(40);
+        buffered.seek(-3, CUR);
+
+        assertThat(buffered.read(), is(equalTo(38)));
+    }
+
+    @Test
+    public void shouldSeekBackAfterLargeRead()
+            throws IOException {
+        buffered.read();
+        buffered.read(new byte[15]);
+        buffered.read(new byte[20]);
+        buffered.seek(30, SET);
+
+        assertThat(buffered.read(), is(equalTo(30)));
+    }
+
+    @Test
+    public void shouldSeekBackAfterLargeBufferRead()
+            throws IOException {
+        buffered.read();
+        buffered.read(ByteBuffer.allocate(15));
+        buffered.read(ByteBuffer.allocate(20));
+        buffered.seek(-4, CUR);
+
+        assertThat(buffered.read(), is(equalTo(32)));
+    }
+
+    @Test
+    public void shouldResetToMark()
+            throws IOException {
+        buffered.skip(20);
+        buffered.mark(buffered.tell());
+        buffered.skip(30);
+        buffered.reset();
+
+        assertThat(buffered.read(), is(equalTo(20)));
+    }
+
+    @Test
+    public void shouldKeepPositionForSize()
+            throws IOException {
+        buffered.read();
+
+        assertThat(buffered.size(), is(equalTo(100L)));
+        assertThat(buffered.read(), is(equalTo(1)));
+    }
+}
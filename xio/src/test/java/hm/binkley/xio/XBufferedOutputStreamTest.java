@@ -0,0 +1,69 @@
+package hm.binkley.xio;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static hm.binkley.xio.XByteBufferInputOutputStreamTest.bytes;
+import static hm.binkley.xio.XSeekable.Whence.SET;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code XBufferedOutputStreamTest} tests {@link XBufferedOutputStream}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class XBufferedOutputStreamTest {
+    private final XChunkedInputOutputStream out
+            = new XChunkedInputOutputStream(8);
+    private final XBufferedOutputStream.Seekable buffered
+            = new XBufferedOutputStream.Seekable(out, ByteBuffer.allocate(16));
+
+    @Test
+    public void shouldHoldWritesUntilFlush()
+            throws IOException {
+        buffered.write(bytes(10));
+
+        assertThat(out.size(), is(equalTo(0L)));
+        assertThat(buffered.tell(), is(equalTo(10L)));
+        buffered.flush();
+        assertThat(out.size(), is(equalTo(10L)));
+    }
+
+    @Test
+    public void shouldWriteLargeBypassingBuffer()
+            throws IOException {
+        buffered.write(1);
+        buffered.write(bytes(32));
+
+        assertThat(out.size(), is(equalTo(33L)));
+    }
+
+    @Test
+    public void shouldDrainBeforeSeek()
+            throws IOException {
+        buffered.write(bytes(10));
+        buffered.seek(2, SET);
+        buffered.write(-1);
+        buffered.close();
+
+        out.rewind();
+        final byte[] written = new byte[10];
+        out.read(written);
+        final byte[] expected = bytes(10);
+        expected[2] = -1;
+        assertThat(written, is(equalTo(expected)));
+    }
+
+    @Test
+    public void shouldCountPendingInSize()
+            throws IOException {
+        buffered.write(bytes(10));
+
+        assertThat(buffered.size(), is(equalTo(10L)));
+        assertThat(buffered.tell(), is(equalTo(10L)));
+    }
+}
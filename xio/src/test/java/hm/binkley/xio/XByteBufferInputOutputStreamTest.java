@@ -0,0 +1,70 @@
+package hm.binkley.xio;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static hm.binkley.xio.XSeekable.Whence.CUR;
+import static hm.binkley.xio.XSeekable.Whence.SET;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code XByteBufferInputOutputStreamTest} tests {@link
+ * XByteBufferInputOutputStream}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class XByteBufferInputOutputStreamTest {
+    private final XByteBufferInputOutputStream stream
+            = new XByteBufferInputOutputStream(ByteBuffer.allocateDirect(16));
+
+    @Test
+    public void shouldReadWhatWasWritten()
+            throws IOException {
+        stream.write(bytes(10));
+        stream.rewind();
+        final ByteBuffer dst = ByteBuffer.allocate(10);
+
+        assertThat(stream.read(dst), is(equalTo(10)));
+        assertThat(dst.array(), is(equalTo(bytes(10))));
+    }
+
+    @Test
+    public void shouldScatterRead()
+            throws IOException {
+        stream.write(bytes(16));
+        stream.rewind();
+        final ByteBuffer a = ByteBuffer.allocate(4);
+        final ByteBuffer b = ByteBuffer.allocate(12);
+
+        assertThat(stream.read(new ByteBuffer[]{a, b}), is(equalTo(16L)));
+        assertThat(b.get(0), is(equalTo((byte) 4)));
+        assertThat(stream.read(), is(equalTo(-1)));
+    }
+
+    @Test
+    public void shouldSeekRelative()
+            throws IOException {
+        stream.write(bytes(16));
+        stream.seek(4, SET);
+        stream.seek(3, CUR);
+
+        assertThat(stream.read(), is(equalTo(7)));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotSeekPastLimit()
+            throws IOException {
+        stream.seek(17, SET);
+    }
+
+    static byte[] bytes(final int n) {
+        final byte[] bytes = new byte[n];
+        for (int i = 0; i < n; ++i)
+            bytes[i] = (byte) i;
+        return bytes;
+    }
+}
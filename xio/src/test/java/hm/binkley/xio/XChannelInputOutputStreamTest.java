@@ -0,0 +1,114 @@
+package hm.binkley.xio;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static hm.binkley.xio.XByteBufferInputOutputStreamTest.bytes;
+import static hm.binkley.xio.XSeekable.Whence.SET;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code XChannelInputOutputStreamTest} tests {@link
+ * XChannelInputOutputStream}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class XChannelInputOutputStreamTest {
+    private Path from;
+    private Path to;
+
+    @Before
+    public void setUp()
+            throws IOException {
+        from = Files.createTempFile("xio", ".bin");
+        to = Files.createTempFile("xio", ".bin");
+    }
+
+    @After
+    public void tearDown()
+            throws IOException {
+        Files.delete(from);
+        Files.delete(to);
+    }
+
+    @Test
+    public void shouldReadAndWriteAtPosition()
+            throws IOException {
+        try (final XChannelInputOutputStream stream
+                = XChannelInputOutputStream.open(from, READ, WRITE)) {
+            stream.write(bytes(10));
+            stream.seek(4, SET);
+            stream.write(ByteBuffer.wrap(new byte[]{-1}));
+
+            assertThat(stream.tell(), is(equalTo(5L)));
+            stream.seek(3, SET);
+            assertThat(stream.read(), is(equalTo(3)));
+            assertThat(stream.read(), is(equalTo(0xFF)));
+            assertThat(stream.read(), is(equalTo(5)));
+            assertThat(stream.size(), is(equalTo(10L)));
+        }
+    }
+
+    @Test
+    public void shouldTransferToChannel()
+            throws IOException {
+        Files.write(from, bytes(100));
+        try (final XChannelInputOutputStream in
+                = XChannelInputOutputStream.open(from, READ);
+                final XChannelInputOutputStream out
+                        = XChannelInputOutputStream.open(to, WRITE)) {
+            in.seek(10, SET);
+            out.write(new byte[]{-1, -1});
+
+            assertThat(in.transferTo(out), is(equalTo(90L)));
+            assertThat(in.tell(), is(equalTo(100L)));
+            assertThat(out.tell(), is(equalTo(92L)));
+        }
+
+        final byte[] copied = Files.readAllBytes(to);
+        assertThat(copied.length, is(equalTo(92)));
+        assertThat(copied[1], is(equalTo((byte) -1)));
+        assertThat(copied[2], is(equalTo((byte) 10)));
+        assertThat(copied[91], is(equalTo((byte) 99)));
+    }
+
+    @Test
+    public void shouldTransferToOtherStream()
+            throws IOException {
+        Files.write(from, bytes(100));
+        final XChunkedInputOutputStream out = new XChunkedInputOutputStream(
+                16);
+        try (final XChannelInputOutputStream in
+                = XChannelInputOutputStream.open(from, READ)) {
+            assertThat(in.transferTo(out), is(equalTo(100L)));
+        }
+
+        out.rewind();
+        final byte[] copied = new byte[100];
+        assertThat(out.read(copied), is(equalTo(100)));
+        assertThat(copied, is(equalTo(bytes(100))));
+    }
+
+    @Test
+    public void shouldTransferFromOtherStream()
+            throws IOException {
+        final XByteBufferInputOutputStream in
+                = new XByteBufferInputOutputStream(ByteBuffer.wrap(bytes(50)));
+        try (final XChannelInputOutputStream out
+                = XChannelInputOutputStream.open(to, WRITE)) {
+            assertThat(out.transferFrom(in), is(equalTo(50L)));
+        }
+
+        assertThat(Files.readAllBytes(to), is(equalTo(bytes(50))));
+    }
+}
@@ -0,0 +1,87 @@
+package hm.binkley.xio;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static hm.binkley.xio.XByteBufferInputOutputStreamTest.bytes;
+import static hm.binkley.xio.XSeekable.Whence.END;
+import static hm.binkley.xio.XSeekable.Whence.SET;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code XChunkedInputOutputStreamTest} tests {@link
+ * XChunkedInputOutputStream}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class XChunkedInputOutputStreamTest {
+    private final XChunkedInputOutputStream stream
+            = new XChunkedInputOutputStream(8);
+
+    @Test
+    public void shouldReadBackAcrossChunks()
+            throws IOException {
+        stream.write(bytes(21));
+        stream.rewind();
+        final ByteBuffer dst = ByteBuffer.allocate(21);
+
+        assertThat(stream.read(dst), is(equalTo(21)));
+        assertThat(dst.array(), is(equalTo(bytes(21))));
+        assertThat(stream.read(), is(equalTo(-1)));
+    }
+
+    @Test
+    public void shouldPatchHeader()
+            throws IOException {
+        stream.write(new byte[4]); // Length placeholder
+        stream.write(bytes(20));
+        final long length = stream.tell() - 4;
+        stream.seek(0, SET);
+        stream.write(ByteBuffer.allocate(4).putInt((int) length).array());
+
+        assertThat(stream.size(), is(equalTo(24L)));
+        stream.seek(0, SET);
+        final ByteBuffer header = ByteBuffer.allocate(4);
+        stream.read(header);
+        assertThat(header.getInt(0), is(equalTo(20)));
+        assertThat(stream.read(), is(equalTo(0)));
+    }
+
+    @Test
+    public void shouldShareChunksAsBuffers()
+            throws IOException {
+        stream.write(bytes(20));
+        final ByteBuffer[] buffers = stream.asByteBuffers();
+
+        assertThat(buffers.length, is(equalTo(3)));
+        assertThat(buffers[2].remaining(), is(equalTo(4)));
+        assertThat(buffers[2].isReadOnly(), is(true));
+        stream.seek(-1, END);
+        stream.write(-1);
+        assertThat(buffers[2].get(3), is(equalTo((byte) -1)));
+    }
+
+    @Test
+    public void shouldWriteToWithoutMoving()
+            throws IOException {
+        stream.write(bytes(20));
+        stream.seek(5, SET);
+        final XChunkedInputOutputStream out = new XChunkedInputOutputStream();
+
+        assertThat(stream.writeTo(out), is(equalTo(20L)));
+        assertThat(stream.tell(), is(equalTo(5L)));
+        out.rewind();
+        final byte[] copied = new byte[20];
+        out.read(copied);
+        assertThat(copied, is(equalTo(bytes(20))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectChunkSizeNotPowerOfTwo() {
+        new XChunkedInputOutputStream(12);
+    }
+}
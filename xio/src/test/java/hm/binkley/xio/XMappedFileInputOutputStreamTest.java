@@ -0,0 +1,153 @@
+package hm.binkley.xio;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static hm.binkley.xio.XByteBufferInputOutputStreamTest.bytes;
+import static hm.binkley.xio.XSeekable.Whence.END;
+import static hm.binkley.xio.XSeekable.Whence.SET;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * {@code XMappedFileInputOutputStreamTest} tests {@link
+ * XMappedFileInputOutputStream}.
+ *
+ * @author <a href="mailto:binkley@alumni.rice.edu">B. K. Oxley (binkley)</a>
+ */
+public final class XMappedFileInputOutputStreamTest {
+    private static final int WINDOW = 16;
+
+    private Path file;
+
+    @Before
+    public void setUp()
+            throws IOException {
+        file = Files.createTempFile("xio", ".bin");
+    }
+
+    @After
+    public void tearDown()
+            throws IOException {
+        Files.delete(file);
+    }
+
+    @Test
+    public void shouldWriteAndReadAcrossWindows()
+            throws IOException {
+        final byte[] bytes = bytes(3 * WINDOW + 5);
+        try (final XMappedFileInputOutputStream stream = open()) {
+            stream.write(bytes);
+            stream.rewind();
+            final byte[] read = new byte[bytes.length];
+
+            assertThat(stream.read(read), is(equalTo(bytes.length)));
+            assertThat(read, is(equalTo(bytes)));
+            assertThat(stream.read(), is(equalTo(-1)));
+        }
+    }
+
+    @Test
+    public void shouldReadBufferAcrossWindowBoundary()
+            throws IOException {
+        try (final XMappedFileInputOutputStream stream = open()) {
+            stream.write(bytes(2 * WINDOW));
+            stream.seek(WINDOW - 2, SET);
+            final ByteBuffer dst = ByteBuffer.allocate(4);
+
+            assertThat(stream.read(dst), is(equalTo(4)));
+            assertThat(dst.array(), is(equalTo(new byte[]{14, 15, 16, 17})));
+            assertThat(stream.tell(), is(equalTo(WINDOW + 2L)));
+        }
+    }
+
+    @Test
+    public void shouldWriteBufferAcrossWindowBoundary()
+            throws IOException {
+        try (final XMappedFileInputOutputStream stream = open()) {
+            stream.write(new byte[WINDOW - 1]);
+            stream.write(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+            stream.seek(WINDOW - 1, SET);
+
+            assertThat(stream.read(), is(equalTo(1)));
+            assertThat(stream.read(), is(equalTo(2)));
+            assertThat(stream.read(), is(equalTo(3)));
+        }
+    }
+
+    @Test
+    public void shouldTruncateToWrittenOnClose()
+            throws IOException {
+        try (final XMappedFileInputOutputStream stream = open()) {
+            stream.write(bytes(WINDOW + 3));
+
+            // Mapping grows the file a window at a time
+            assertThat(Files.size(file), is(equalTo(2L * WINDOW)));
+        }
+
+        assertThat(Files.size(file), is(equalTo(WINDOW + 3L)));
+    }
+
+    @Test
+    public void shouldNotGrowForReads()
+            throws IOException {
+        Files.write(file, bytes(10));
+        try (final XMappedFileInputOutputStream stream = open()) {
+            stream.read(new byte[10]);
+
+            assertThat(Files.size(file), is(equalTo(10L)));
+            stream.write(-1); // Now writing maps a full window
+            assertThat(Files.size(file), is(equalTo((long) WINDOW)));
+        }
+
+        assertThat(Files.size(file), is(equalTo(11L)));
+    }
+
+    @Test
+    public void shouldReadOnlyWhatIsThere()
+            throws IOException {
+        Files.write(file, bytes(WINDOW + 3));
+        try (final XMappedFileInputOutputStream stream
+                = XMappedFileInputOutputStream.open(file, READ_ONLY)) {
+            assertThat(stream.size(), is(equalTo(WINDOW + 3L)));
+            assertThat(stream.seek(-1, END), is(equalTo(WINDOW + 2L)));
+            assertThat(stream.read(), is(equalTo(WINDOW + 2)));
+            assertThat(stream.read(), is(equalTo(-1)));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotWriteReadOnly()
+            throws IOException {
+        try (final XMappedFileInputOutputStream stream
+                = XMappedFileInputOutputStream.open(file, READ_ONLY)) {
+            stream.write(1);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotSeekPastEnd()
+            throws IOException {
+        try (final XMappedFileInputOutputStream stream = open()) {
+            stream.seek(1, SET);
+        }
+    }
+
+    private XMappedFileInputOutputStream open()
+            throws IOException {
+        return new XMappedFileInputOutputStream(
+                FileChannel.open(file, READ, WRITE), READ_WRITE, WINDOW);
+    }
+}